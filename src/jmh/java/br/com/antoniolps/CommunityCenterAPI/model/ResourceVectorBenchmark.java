@@ -0,0 +1,83 @@
+package br.com.antoniolps.CommunityCenterAPI.model;
+
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Alocação por operação (gc.alloc.rate.norm) vem do profiler de GC:
+// ./mvnw -Pjmh test-compile exec:exec -Djmh.args="ResourceVectorBenchmark -prof gc"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourceVectorBenchmark {
+
+    private Map<ResourceTypeEnum, Integer> givenMap;
+    private Map<ResourceTypeEnum, Integer> requestedMap;
+    private ResourceVector given;
+    private ResourceVector requested;
+
+    @Setup
+    public void setUp() {
+        // Mesmo formato que o Jackson produz para o corpo da requisição
+        givenMap = new HashMap<>(Map.of(ResourceTypeEnum.VOLUNTARIO, 2, ResourceTypeEnum.MEDICO, 3));
+        requestedMap = new HashMap<>(Map.of(ResourceTypeEnum.CESTA_BASICA, 3, ResourceTypeEnum.KIT_MEDICO, 1, ResourceTypeEnum.VEICULO, 1));
+        given = ResourceVector.of(givenMap);
+        requested = ResourceVector.of(requestedMap);
+    }
+
+    @Benchmark
+    public boolean validatePointsWithMap() {
+        return mapPoints(givenMap) == mapPoints(requestedMap);
+    }
+
+    @Benchmark
+    public boolean validatePointsWithVector() {
+        return given.points() == requested.points();
+    }
+
+    @Benchmark
+    public Map<ResourceTypeEnum, Integer> sourceDeltaWithMap() {
+        Map<ResourceTypeEnum, Integer> delta = new EnumMap<>(ResourceTypeEnum.class);
+        givenMap.forEach((type, qty) -> delta.merge(type, -qty, Integer::sum));
+        requestedMap.forEach((type, qty) -> delta.merge(type, qty, Integer::sum));
+        return delta;
+    }
+
+    @Benchmark
+    public ResourceVector sourceDeltaWithVector() {
+        return requested.minus(given);
+    }
+
+    // Caminho completo de uma troca: conversão da requisição, validação e deltas dos dois centros
+    @Benchmark
+    public ResourceVector exchangeHotPathWithVector() {
+        ResourceVector requestGiven = ResourceVector.of(givenMap);
+        ResourceVector requestRequested = ResourceVector.of(requestedMap);
+        if (requestGiven.points() != requestRequested.points()) {
+            throw new IllegalStateException();
+        }
+        return requestRequested.minus(requestGiven).negate();
+    }
+
+    private int mapPoints(Map<ResourceTypeEnum, Integer> resources) {
+        return resources.entrySet().stream()
+                .mapToInt(e -> e.getKey().getPoints() * e.getValue())
+                .sum();
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.antoniolps.CommunityCenterAPI.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// stripes=1 equivale a uma trava global; overlap=shared faz todas as threads trocarem entre os mesmos dois centros
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class CenterLockManagerBenchmark {
+
+    // Custo aproximado da seção crítica, sem I/O
+    private static final long CRITICAL_SECTION_TOKENS = 500;
+
+    @Param({"1", "1024"})
+    private int stripes;
+
+    @Param({"disjoint", "shared"})
+    private String overlap;
+
+    private CenterLockManager lockManager;
+    private final AtomicInteger threadIndex = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        lockManager = new CenterLockManager(stripes, new SimpleMeterRegistry());
+    }
+
+    @State(Scope.Thread)
+    public static class Exchange {
+
+        private List<UUID> centers;
+
+        @Setup
+        public void setUp(CenterLockManagerBenchmark benchmark) {
+            int index = "shared".equals(benchmark.overlap) ? 0 : benchmark.threadIndex.getAndIncrement();
+            // Hashes consecutivos caem em faixas diferentes quando há faixas suficientes
+            centers = List.of(new UUID(0, 2L * index + 1), new UUID(0, 2L * index + 2));
+        }
+    }
+
+    @Benchmark
+    public void exchange(Exchange exchange) {
+        lockManager.runLocked(exchange.centers, () -> Blackhole.consumeCPU(CRITICAL_SECTION_TOKENS));
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.antoniolps.CommunityCenterAPI.service;
+
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import br.com.antoniolps.CommunityCenterAPI.model.projections.CenterOccupancy;
+import br.com.antoniolps.CommunityCenterAPI.stream.CommunityCenterStateView;
+import br.com.antoniolps.CommunityCenterAPI.stream.OccupancyLeaderboard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// ./mvnw -Pjmh test-compile exec:exec -Djmh.args="CommunityCenterServiceBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommunityCenterServiceBenchmark {
+
+    private static final int MAX_CAPACITY = 500;
+
+    @Param({"10000"})
+    private int centers;
+
+    private CommunityCenterServiceImpl communityCenterService;
+    private Map<UUID, CommunityCenter> store;
+    private List<String> ids;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        store = new HashMap<>();
+        ids = new ArrayList<>(centers);
+
+        ResourceSummaryService resourceSummaryService = new ResourceSummaryServiceImpl(
+                InMemoryRepositories.resourceSummaries(), null);
+        for (int i = 0; i < centers; i++) {
+            UUID id = UUID.randomUUID();
+            Map<ResourceTypeEnum, Integer> resources = new EnumMap<>(ResourceTypeEnum.class);
+            for (ResourceTypeEnum type : ResourceTypeEnum.values()) {
+                resources.put(type, random.nextInt(100));
+            }
+            store.put(id, CommunityCenter.builder()
+                    .id(id)
+                    .name("Centro " + i)
+                    .maxCapacity(MAX_CAPACITY)
+                    .currentOccupancy(random.nextInt(MAX_CAPACITY + 1))
+                    .resourceMap(resources)
+                    .build());
+            ids.add(id.toString());
+            resourceSummaryService.recordCenterAdded(resources);
+        }
+
+        communityCenterService = new CommunityCenterServiceImpl(
+                InMemoryRepositories.communityCenters(store),
+                event -> { },
+                new StaticListableBeanFactory().getBeanProvider(CommunityCenterStateView.class),
+                new OccupancyLeaderboard(() -> List.<CenterOccupancy>of()),
+                resourceSummaryService,
+                new ServiceMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public void updateOccupancy() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        communityCenterService.updateOccupancy(ids.get(random.nextInt(centers)), random.nextInt(MAX_CAPACITY + 1));
+    }
+
+    @Benchmark
+    public Map<ResourceTypeEnum, Double> getAverageResourcesPerType() {
+        return communityCenterService.getAverageResourcesPerType();
+    }
+
+    // Referência: achatar o resourceMap de todos os centros a cada chamada
+    @Benchmark
+    public Map<ResourceTypeEnum, Double> averageResourcesFullScanBaseline() {
+        return store.values().stream()
+                .flatMap(center -> center.getResourceMap().entrySet().stream())
+                .collect(Collectors.groupingBy(Map.Entry::getKey, Collectors.averagingInt(Map.Entry::getValue)));
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.antoniolps.CommunityCenterAPI.service;
+
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.ExchangeHistory;
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceVector;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangePage;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeRequest;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ./mvnw -Pjmh test-compile exec:exec -Djmh.args="ExchangeServiceBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExchangeServiceBenchmark {
+
+    // Estoque grande o bastante para não se esgotar durante as medições
+    private static final int STOCK = 1_000_000_000;
+
+    @Param({"100", "1000"})
+    private int historySize;
+
+    private ExchangeServiceImpl exchangeService;
+    private ExchangeRequest request;
+    private String centerId;
+
+    @Setup
+    public void setUp() {
+        UUID sourceId = UUID.randomUUID();
+        UUID targetId = UUID.randomUUID();
+        centerId = sourceId.toString();
+
+        Map<UUID, CommunityCenter> store = new HashMap<>();
+        store.put(sourceId, center(sourceId, ResourceTypeEnum.VOLUNTARIO));
+        store.put(targetId, center(targetId, ResourceTypeEnum.CESTA_BASICA));
+
+        List<ExchangeHistory> histories = new ArrayList<>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            histories.add(ExchangeHistory.builder()
+                    .id(UUID.randomUUID())
+                    .sourceCenterId(i % 2 == 0 ? centerId : targetId.toString())
+                    .targetCenterId(i % 2 == 0 ? targetId.toString() : centerId)
+                    .resourcesGiven(ResourceVector.of(ResourceTypeEnum.VOLUNTARIO, 2))
+                    .resourcesReceived(ResourceVector.of(ResourceTypeEnum.CESTA_BASICA, 3))
+                    .timestamp(LocalDateTime.now().minusMinutes(i))
+                    .build());
+        }
+
+        ResourceSummaryService resourceSummaryService = new ResourceSummaryServiceImpl(
+                InMemoryRepositories.resourceSummaries(), null);
+        exchangeService = new ExchangeServiceImpl(
+                InMemoryRepositories.communityCenters(store),
+                InMemoryRepositories.exchangeHistories(histories, new AtomicLong()),
+                new ExchangeTransactionRunner(null, new SimpleMeterRegistry(), 3),
+                event -> { },
+                resourceSummaryService,
+                new ServiceMetrics(new SimpleMeterRegistry()),
+                new CenterLockManager(1024, new SimpleMeterRegistry()));
+
+        request = new ExchangeRequest();
+        request.setSourceCenterId(sourceId.toString());
+        request.setTargetCenterId(targetId.toString());
+        request.setResourcesGiven(Map.of(ResourceTypeEnum.VOLUNTARIO, 2));
+        request.setResourcesRequested(Map.of(ResourceTypeEnum.CESTA_BASICA, 3));
+    }
+
+    @Benchmark
+    public void exchangeResources() {
+        exchangeService.exchangeResources(request);
+    }
+
+    @Benchmark
+    public ExchangePage getPageByCenterId() {
+        return exchangeService.getPageByCenterId(centerId, null, ExchangeService.MAX_PAGE_SIZE);
+    }
+
+    private CommunityCenter center(UUID id, ResourceTypeEnum resource) {
+        Map<ResourceTypeEnum, Integer> resources = new EnumMap<>(ResourceTypeEnum.class);
+        resources.put(resource, STOCK);
+        return CommunityCenter.builder()
+                .id(id)
+                .name("Centro " + id)
+                .maxCapacity(100)
+                .currentOccupancy(10)
+                .resourceMap(resources)
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.antoniolps.CommunityCenterAPI.service;
+
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.ExchangeHistory;
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceVector;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import br.com.antoniolps.CommunityCenterAPI.repository.CommunityCenterRepository;
+import br.com.antoniolps.CommunityCenterAPI.repository.ExchangeHistoryRepository;
+import br.com.antoniolps.CommunityCenterAPI.repository.ResourceSummaryRepository;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+// Substitutos em memória dos repositórios, implementando só os métodos usados pelos benchmarks.
+// Assim o benchmark mede o serviço, sem MongoDB nem o custo de mocks do Mockito.
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    static CommunityCenterRepository communityCenters(Map<UUID, CommunityCenter> store) {
+        return proxy(CommunityCenterRepository.class, (method, args) -> switch (method.getName()) {
+            case "findById" -> Optional.ofNullable(store.get((UUID) args[0]));
+            case "save" -> {
+                CommunityCenter center = (CommunityCenter) args[0];
+                store.put(center.getId(), center);
+                yield center;
+            }
+            case "setOccupancy" -> {
+                CommunityCenter center = store.get((UUID) args[0]);
+                int occupancy = (int) args[1];
+                if (center == null || occupancy > center.getMaxCapacity()) {
+                    yield Optional.empty();
+                }
+                center.setCurrentOccupancy(occupancy);
+                center.setOccupancyRatio((double) occupancy / center.getMaxCapacity());
+                center.setFull(occupancy >= center.getMaxCapacity());
+                yield Optional.of(center);
+            }
+            case "applyResourceDelta" -> {
+                CommunityCenter center = store.get((UUID) args[0]);
+                Map<ResourceTypeEnum, Integer> previous = new EnumMap<>(ResourceTypeEnum.class);
+                if (center != null) {
+                    previous.putAll(center.getResourceMap());
+                }
+                yield applyDelta(center, (ResourceVector) args[1], 1) ? Optional.of(previous) : Optional.empty();
+            }
+            case "revertResourceDelta" -> {
+                applyDelta(store.get((UUID) args[0]), (ResourceVector) args[1], -1);
+                yield null;
+            }
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    static ExchangeHistoryRepository exchangeHistories(List<ExchangeHistory> histories, AtomicLong saved) {
+        return proxy(ExchangeHistoryRepository.class, (method, args) -> switch (method.getName()) {
+            case "save" -> {
+                saved.incrementAndGet();
+                yield args[0];
+            }
+            case "findPageByCenterId" -> histories.subList(0, Math.min((int) args[3], histories.size()));
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    static ResourceSummaryRepository resourceSummaries() {
+        return proxy(ResourceSummaryRepository.class, (method, args) -> switch (method.getName()) {
+            case "incrementSummaries" -> null;
+            case "findAll" -> List.of();
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    // Mesma semântica do $inc condicionado: decrementos só se houver estoque
+    private static boolean applyDelta(CommunityCenter center, ResourceVector delta, int sign) {
+        if (center == null) {
+            return false;
+        }
+        Map<ResourceTypeEnum, Integer> resources = center.getResourceMap();
+        boolean[] sufficient = {true};
+        delta.forEach((type, quantity) -> {
+            if (sign * quantity < 0 && resources.getOrDefault(type, 0) < -sign * quantity) {
+                sufficient[0] = false;
+            }
+        });
+        if (sufficient[0]) {
+            delta.forEach((type, quantity) -> resources.merge(type, sign * quantity, Integer::sum));
+        }
+        return sufficient[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, BiFunction<Method, Object[], Object> handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> type.getSimpleName() + " em memória";
+                };
+            }
+            return handler.apply(method, args);
+        });
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.antoniolps.CommunityCenterAPI.stream;
+
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.OccupancyUpdate;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.OccupancyRankingEnum;
+import br.com.antoniolps.CommunityCenterAPI.model.projections.CenterOccupancy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// ./mvnw -Pjmh test-compile exec:exec -Djmh.args="OccupancyLeaderboardBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OccupancyLeaderboardBenchmark {
+
+    private static final int MAX_CAPACITY = 500;
+
+    @Param({"100000"})
+    private int centers;
+
+    @Param({"10", "100"})
+    private int k;
+
+    private OccupancyLeaderboard leaderboard;
+    private List<UUID> ids;
+    private List<OccupancyUpdate> snapshot;
+    private long version;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ids = new ArrayList<>(centers);
+        snapshot = new ArrayList<>(centers);
+        for (int i = 0; i < centers; i++) {
+            UUID id = UUID.randomUUID();
+            int occupancy = random.nextInt(MAX_CAPACITY + 1);
+            ids.add(id);
+            snapshot.add(OccupancyUpdate.builder().centerId(id).name("Centro " + i)
+                    .currentOccupancy(occupancy).maxCapacity(MAX_CAPACITY).build());
+        }
+
+        leaderboard = new OccupancyLeaderboard(() -> List.<CenterOccupancy>of());
+        leaderboard.load();
+        snapshot.forEach(center -> leaderboard.update(center.getCenterId(), center.getName(),
+                center.getCurrentOccupancy(), MAX_CAPACITY, 0));
+    }
+
+    @Benchmark
+    public void update() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UUID id = ids.get(random.nextInt(centers));
+        leaderboard.update(id, "Centro", random.nextInt(MAX_CAPACITY + 1), MAX_CAPACITY, ++version);
+    }
+
+    @Benchmark
+    public List<OccupancyUpdate> topAbsolute() {
+        return leaderboard.top(k, OccupancyRankingEnum.ABSOLUTE);
+    }
+
+    @Benchmark
+    public List<OccupancyUpdate> topRatio() {
+        return leaderboard.top(k, OccupancyRankingEnum.RATIO);
+    }
+
+    // Referência: o que custaria ordenar todos os centros a cada consulta
+    @Benchmark
+    public List<OccupancyUpdate> fullSortBaseline() {
+        return snapshot.stream()
+                .sorted(Comparator.comparingInt(OccupancyUpdate::getCurrentOccupancy).reversed())
+                .limit(k)
+                .toList();
+    }
+}
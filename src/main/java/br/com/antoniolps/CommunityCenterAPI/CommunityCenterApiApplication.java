@@ -2,8 +2,10 @@ package br.com.antoniolps.CommunityCenterAPI;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CommunityCenterApiApplication {
 
 	public static void main(String[] args) {
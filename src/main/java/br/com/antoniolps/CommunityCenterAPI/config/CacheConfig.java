@@ -0,0 +1,39 @@
+package br.com.antoniolps.CommunityCenterAPI.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    public static final String COMMUNITY_CENTER_CACHE = "communityCenters";
+    public static final String CENTER_OCCUPANCY_CACHE = "centerOccupancy";
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        // Cada leitura e escrita no cache usa uma cópia, para que quem altera o centro não altere a entrada em cache
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new CopyingCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        if (StringUtils.hasText(cacheProperties.getCaffeine().getSpec())) {
+            caffeineCacheManager.setCacheSpecification(cacheProperties.getCaffeine().getSpec());
+        }
+        caffeineCacheManager.setCacheNames(cacheProperties.getCacheNames());
+
+        // Com uma transação ativa, put e evict só acontecem após o commit; sem transação, na hora
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
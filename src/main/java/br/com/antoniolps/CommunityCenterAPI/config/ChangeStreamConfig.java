@@ -0,0 +1,40 @@
+package br.com.antoniolps.CommunityCenterAPI.config;
+
+import br.com.antoniolps.CommunityCenterAPI.stream.CommunityCenterChangeStreamListener;
+import br.com.antoniolps.CommunityCenterAPI.stream.CommunityCenterStateView;
+import br.com.antoniolps.CommunityCenterAPI.stream.ResumeTokenStore;
+import org.bson.UuidRepresentation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+// Change streams também exigem que o MongoDB rode como replica set
+@Configuration
+@ConditionalOnProperty(name = "community-center.change-streams.enabled", havingValue = "true")
+public class ChangeStreamConfig {
+
+    @Bean
+    public CommunityCenterStateView communityCenterStateView() {
+        return new CommunityCenterStateView();
+    }
+
+    @Bean
+    public ResumeTokenStore resumeTokenStore(MongoTemplate mongoTemplate) {
+        return new ResumeTokenStore(mongoTemplate);
+    }
+
+    @Bean
+    public CommunityCenterChangeStreamListener communityCenterChangeStreamListener(
+            MongoTemplate mongoTemplate,
+            CommunityCenterStateView stateView,
+            ResumeTokenStore resumeTokenStore,
+            ApplicationEventPublisher eventPublisher,
+            MongoProperties mongoProperties) {
+        UuidRepresentation uuidRepresentation = mongoProperties.getUuidRepresentation();
+        return new CommunityCenterChangeStreamListener(mongoTemplate, stateView, resumeTokenStore,
+                eventPublisher, uuidRepresentation);
+    }
+}
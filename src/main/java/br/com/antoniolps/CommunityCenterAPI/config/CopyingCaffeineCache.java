@@ -0,0 +1,41 @@
+package br.com.antoniolps.CommunityCenterAPI.config;
+
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+class CopyingCaffeineCache extends CaffeineCache {
+
+    CopyingCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        return copy(super.lookup(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return copy(super.get(key, valueLoader));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        super.put(key, copy(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = super.putIfAbsent(key, copy(value));
+        return existing != null ? new SimpleValueWrapper(copy(existing.get())) : null;
+    }
+
+    // Projeções de ocupação não têm setters; só o documento completo precisa ser copiado
+    @SuppressWarnings("unchecked")
+    private static <T> T copy(T value) {
+        return value instanceof CommunityCenter center ? (T) center.copy() : value;
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.antoniolps.CommunityCenterAPI.config;
+
+import br.com.antoniolps.CommunityCenterAPI.service.CenterLockManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ExchangeLockConfig {
+
+    // Travas apenas deste nó; entre instâncias a consistência continua a cargo do $inc condicional
+    @Bean
+    public CenterLockManager centerLockManager(
+            MeterRegistry meterRegistry,
+            @Value("${community-center.exchange.lock-stripes:1024}") int stripes) {
+        return new CenterLockManager(stripes, meterRegistry);
+    }
+}
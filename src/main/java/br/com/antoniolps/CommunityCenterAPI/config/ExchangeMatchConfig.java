@@ -0,0 +1,20 @@
+package br.com.antoniolps.CommunityCenterAPI.config;
+
+import br.com.antoniolps.CommunityCenterAPI.repository.CommunityCenterRepository;
+import br.com.antoniolps.CommunityCenterAPI.stream.ResourceHoldingIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ExchangeMatchConfig {
+
+    // Com change streams habilitados o índice é atualizado pelos documentos do stream, não pelos deltas locais
+    @Bean
+    public ResourceHoldingIndex resourceHoldingIndex(
+            CommunityCenterRepository communityCenterRepository,
+            @Value("${community-center.change-streams.enabled:false}") boolean changeStreamsEnabled) {
+        return new ResourceHoldingIndex(communityCenterRepository::findAllResourceHoldings,
+                communityCenterRepository::findResourceHoldingsByIdIn, !changeStreamsEnabled);
+    }
+}
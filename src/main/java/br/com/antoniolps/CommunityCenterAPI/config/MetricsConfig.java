@@ -0,0 +1,16 @@
+package br.com.antoniolps.CommunityCenterAPI.config;
+
+import br.com.antoniolps.CommunityCenterAPI.service.ServiceMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Latência de HTTP, repositórios e comandos do driver do MongoDB já é medida pela auto-configuração do Spring Boot
+    @Bean
+    public ServiceMetrics serviceMetrics(MeterRegistry meterRegistry) {
+        return new ServiceMetrics(meterRegistry);
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.antoniolps.CommunityCenterAPI.config;
+
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceVector;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.List;
+
+@Configuration
+public class MongoConversionConfig {
+
+    // ResourceVector é gravado como o mesmo subdocumento {"TIPO": quantidade} que o mapa gravava antes
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(new ResourceVector.MongoWriter(), new ResourceVector.MongoReader()));
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.antoniolps.CommunityCenterAPI.config;
+
+import br.com.antoniolps.CommunityCenterAPI.service.ExchangeTransactionRunner;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+public class MongoTransactionConfig {
+
+    // Transações multi-documento exigem que o MongoDB rode como replica set
+    @Bean
+    @ConditionalOnProperty(name = "community-center.exchange.transactional", havingValue = "true")
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+
+    @Bean
+    public ExchangeTransactionRunner exchangeTransactionRunner(
+            ObjectProvider<MongoTransactionManager> transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${community-center.exchange.transaction-max-attempts:3}") int maxAttempts) {
+        MongoTransactionManager manager = transactionManager.getIfAvailable();
+        TransactionTemplate transactionTemplate = manager != null ? new TransactionTemplate(manager) : null;
+        return new ExchangeTransactionRunner(transactionTemplate, meterRegistry, maxAttempts);
+    }
+}
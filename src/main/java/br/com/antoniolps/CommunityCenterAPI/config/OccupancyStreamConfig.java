@@ -0,0 +1,27 @@
+package br.com.antoniolps.CommunityCenterAPI.config;
+
+import br.com.antoniolps.CommunityCenterAPI.repository.CommunityCenterRepository;
+import br.com.antoniolps.CommunityCenterAPI.stream.OccupancyBroadcaster;
+import br.com.antoniolps.CommunityCenterAPI.stream.OccupancyLeaderboard;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OccupancyStreamConfig {
+
+    // Poucas threads atendem todos os clientes; cada uma só esvazia o buffer de um cliente por vez
+    @Bean(destroyMethod = "shutdown")
+    public OccupancyBroadcaster occupancyBroadcaster(
+            MeterRegistry meterRegistry,
+            @Value("${community-center.occupancy-stream.client-buffer-size:256}") int clientBufferSize,
+            @Value("${community-center.occupancy-stream.sender-threads:4}") int senderThreads) {
+        return new OccupancyBroadcaster(clientBufferSize, senderThreads, meterRegistry);
+    }
+
+    @Bean
+    public OccupancyLeaderboard occupancyLeaderboard(CommunityCenterRepository communityCenterRepository) {
+        return new OccupancyLeaderboard(communityCenterRepository::findAllOccupancies);
+    }
+}
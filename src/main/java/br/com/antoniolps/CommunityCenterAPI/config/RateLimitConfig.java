@@ -0,0 +1,54 @@
+package br.com.antoniolps.CommunityCenterAPI.config;
+
+import br.com.antoniolps.CommunityCenterAPI.ratelimit.RateLimitInterceptor;
+import br.com.antoniolps.CommunityCenterAPI.ratelimit.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "community-center.rate-limit.enabled", havingValue = "true")
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final TokenBucketRateLimiter occupancyRateLimiter;
+    private final TokenBucketRateLimiter occupancyCenterRateLimiter;
+    private final TokenBucketRateLimiter exchangeRateLimiter;
+    private final TokenBucketRateLimiter exchangeCenterRateLimiter;
+    private final boolean trustClientIdHeader;
+
+    public RateLimitConfig(
+            MeterRegistry meterRegistry,
+            Environment environment,
+            @Value("${community-center.rate-limit.trust-client-id-header:false}") boolean trustClientIdHeader) {
+        this.occupancyRateLimiter = rateLimiter("occupancy", 5, 10, meterRegistry, environment);
+        this.occupancyCenterRateLimiter = rateLimiter("occupancy.center", 20, 40, meterRegistry, environment);
+        this.exchangeRateLimiter = rateLimiter("exchange", 2, 5, meterRegistry, environment);
+        this.exchangeCenterRateLimiter = rateLimiter("exchange.center", 10, 20, meterRegistry, environment);
+        this.trustClientIdHeader = trustClientIdHeader;
+    }
+
+    // Limite por centro e cliente, e um teto por centro somando todos os clientes; os lotes são limitados pelo tamanho
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RateLimitInterceptor(occupancyRateLimiter, occupancyCenterRateLimiter, trustClientIdHeader))
+                .addPathPatterns("/community-centers/*/occupancy");
+        registry.addInterceptor(new RateLimitInterceptor(exchangeRateLimiter, exchangeCenterRateLimiter, trustClientIdHeader))
+                .addPathPatterns("/exchanges");
+    }
+
+    static TokenBucketRateLimiter rateLimiter(String name, double defaultPermitsPerSecond, int defaultBurst,
+                                              MeterRegistry meterRegistry, Environment environment) {
+        String prefix = "community-center.rate-limit." + name + ".";
+        return new TokenBucketRateLimiter(name,
+                environment.getProperty(prefix + "permits-per-second", Double.class, defaultPermitsPerSecond),
+                environment.getProperty(prefix + "burst", Integer.class, defaultBurst),
+                environment.getProperty("community-center.rate-limit.max-keys", Long.class, 100_000L),
+                meterRegistry, System::nanoTime);
+    }
+}
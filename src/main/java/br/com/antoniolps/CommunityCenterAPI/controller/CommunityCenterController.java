@@ -2,13 +2,23 @@ package br.com.antoniolps.CommunityCenterAPI.controller;
 
 import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
 import br.com.antoniolps.CommunityCenterAPI.model.dtos.CommunityCenterRequest;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.NearbyCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.OccupancyBatchResult;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.OccupancyDeltaRequest;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.OccupancyEvent;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.OccupancyUpdate;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ResourceStatistics;
 import br.com.antoniolps.CommunityCenterAPI.model.dtos.UpdateOccupancyRequest;
 import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
 import br.com.antoniolps.CommunityCenterAPI.service.CommunityCenterService;
+import br.com.antoniolps.CommunityCenterAPI.stream.OccupancyBroadcaster;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -16,11 +26,13 @@ import java.util.UUID;
 
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/community-centers")
 @RequiredArgsConstructor
 public class CommunityCenterController {
 
     private final CommunityCenterService communityCenterService;
+    private final OccupancyBroadcaster occupancyBroadcaster;
 
     @PostMapping
     public ResponseEntity<Void> addCenter(CommunityCenterRequest dto) {
@@ -34,14 +46,50 @@ public class CommunityCenterController {
         return ResponseEntity.status(HttpStatus.OK).build();
     }
 
+    @PatchMapping("/{id}/occupancy")
+    public ResponseEntity<Integer> adjustOccupancy(@PathVariable("id") String id, OccupancyDeltaRequest dto) {
+        return ResponseEntity.ok(communityCenterService.adjustOccupancy(id, dto.getDelta()));
+    }
+
+    @PostMapping("/occupancy/events")
+    public ResponseEntity<OccupancyBatchResult> ingestOccupancyEvents(@RequestBody List<OccupancyEvent> events) {
+        return ResponseEntity.ok(communityCenterService.ingestOccupancyEvents(events));
+    }
+
+    @GetMapping(value = "/occupancy/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOccupancy(@RequestParam(value = "centerId", required = false) UUID centerId) {
+        return occupancyBroadcaster.subscribe(centerId);
+    }
+
     @GetMapping("/highest-occupancy")
     public ResponseEntity<CommunityCenter> listCenterWithHighestOccupancy() {
         return ResponseEntity.ok(communityCenterService.listCenterWithHighestOccupancy());
     }
 
+    @GetMapping("/top")
+    public ResponseEntity<List<OccupancyUpdate>> getTopCenters(
+            @RequestParam(value = "k", defaultValue = "10") int k,
+            @RequestParam(value = "by", defaultValue = "absolute") String by) {
+        return ResponseEntity.ok(communityCenterService.getTopCenters(k, by));
+    }
+
     @GetMapping("/occupancy-greater-than-ninety")
-    public ResponseEntity<List<CommunityCenter>> getCentersWithOccupancyGreaterThanNinetyPercent() {
-        return ResponseEntity.ok(communityCenterService.getCentersWithOccupancyGreaterThanNinetyPercent());
+    public ResponseEntity<List<CommunityCenter>> getCentersWithOccupancyGreaterThanNinetyPercent(
+            @RequestParam(value = "threshold", defaultValue = "0.9") double threshold) {
+        return ResponseEntity.ok(communityCenterService.getCentersWithOccupancyRatioGreaterThan(threshold));
+    }
+
+    @GetMapping("/nearest")
+    public ResponseEntity<List<NearbyCenter>> findNearestCenters(
+            @RequestParam("latitude") double latitude,
+            @RequestParam("longitude") double longitude,
+            @RequestParam(value = "minFreeCapacity", defaultValue = "1") int minFreeCapacity,
+            @RequestParam(value = "resource", required = false) ResourceTypeEnum resource,
+            @RequestParam(value = "minQuantity", defaultValue = "1") int minQuantity,
+            @RequestParam(value = "maxDistance", required = false) Double maxDistanceInMeters,
+            @RequestParam(value = "limit", defaultValue = "5") int limit) {
+        return ResponseEntity.ok(communityCenterService.findNearestCenters(latitude, longitude, minFreeCapacity,
+                resource, minQuantity, maxDistanceInMeters, limit));
     }
 
     @GetMapping("/average-resources")
@@ -49,10 +97,21 @@ public class CommunityCenterController {
         return ResponseEntity.ok(communityCenterService.getAverageResourcesPerType());
     }
 
+    @GetMapping("/resource-statistics")
+    public ResponseEntity<Map<ResourceTypeEnum, ResourceStatistics>> getResourceStatistics() {
+        return ResponseEntity.ok(communityCenterService.getResourceStatistics());
+    }
+
     @GetMapping
     public ResponseEntity<Boolean> isCenterFull(@RequestParam("id") String centerId) {
         boolean isFull = communityCenterService.isCenterFull(UUID.fromString(centerId));
         return ResponseEntity.ok(isFull);
     }
 
+    @GetMapping("/full")
+    public ResponseEntity<Map<UUID, Boolean>> areCentersFull(@RequestParam("ids") List<String> centerIds) {
+        List<UUID> ids = centerIds.stream().map(UUID::fromString).toList();
+        return ResponseEntity.ok(communityCenterService.areCentersFull(ids));
+    }
+
 }
@@ -0,0 +1,34 @@
+package br.com.antoniolps.CommunityCenterAPI.controller;
+
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangePage;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeReturn;
+import br.com.antoniolps.CommunityCenterAPI.service.ExchangeService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+// Resposta do /all descontinuado, igual nos modos servlet e reativo
+final class ExchangePageLinks {
+
+    private static final String DEPRECATION_HEADER = "Deprecation";
+
+    private ExchangePageLinks() {
+    }
+
+    static ResponseEntity<List<ExchangeReturn>> firstPage(String centerId, ExchangePage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().header(DEPRECATION_HEADER, "true");
+        if (page.getNext() != null) {
+            URI next = UriComponentsBuilder.fromPath("/exchanges/{centerId}/page")
+                    .queryParam("cursor", page.getNext())
+                    .queryParam("size", ExchangeService.MAX_PAGE_SIZE)
+                    .buildAndExpand(centerId)
+                    .encode()
+                    .toUri();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page.getContent());
+    }
+}
@@ -1,21 +1,34 @@
 package br.com.antoniolps.CommunityCenterAPI.controller;
 
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangePage;
 import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeRequest;
 import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeReturn;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeSuggestion;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.MatchRequest;
+import br.com.antoniolps.CommunityCenterAPI.service.ExchangeMatchService;
 import br.com.antoniolps.CommunityCenterAPI.service.ExchangeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/exchanges")
 @RequiredArgsConstructor
 public class ExchangesController {
 
     private final ExchangeService exchangeService;
+    private final ExchangeMatchService exchangeMatchService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping()
     public ResponseEntity<Void> exchangeResources(ExchangeRequest dto) {
@@ -24,15 +37,51 @@ public class ExchangesController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Void> exchangeResourcesInBatch(@RequestBody List<ExchangeRequest> requests) {
+        exchangeService.exchangeResourcesInBatch(requests);
+
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+
+    @PostMapping("/matches")
+    public ResponseEntity<List<ExchangeSuggestion>> findMatches(@RequestBody MatchRequest request) {
+        return ResponseEntity.ok(exchangeMatchService.findMatches(request));
+    }
+
     @GetMapping()
     public ResponseEntity<List<ExchangeReturn>> getAllExchangesAfterDate(String date, String centerId) {
         List<ExchangeReturn> exchanges = exchangeService.getAllExchangesByCenterAfterDate(centerId, date);
         return ResponseEntity.ok(exchanges);
     }
 
+    // Mantido para clientes antigos: devolve só a primeira página, e o cabeçalho Link aponta para /page com o cursor
+    @Deprecated
     @GetMapping("{centerId}/all")
     public ResponseEntity<List<ExchangeReturn>> getAllByCenterId(@PathVariable String centerId) {
-        List<ExchangeReturn> exchanges = exchangeService.getAllByCenterId(centerId);
-        return ResponseEntity.ok(exchanges);
+        ExchangePage page = exchangeService.getPageByCenterId(centerId, null, ExchangeService.MAX_PAGE_SIZE);
+        return ExchangePageLinks.firstPage(centerId, page);
+    }
+
+    @GetMapping("{centerId}/page")
+    public ResponseEntity<ExchangePage> getPageByCenterId(@PathVariable String centerId,
+                                                          @RequestParam(value = "cursor", required = false) String cursor,
+                                                          @RequestParam(value = "size", defaultValue = "50") int size) {
+        return ResponseEntity.ok(exchangeService.getPageByCenterId(centerId, cursor, size));
+    }
+
+    @GetMapping(value = "{centerId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllByCenterId(@PathVariable String centerId) {
+        // Escreve uma troca por linha conforme o cursor do MongoDB avança, sem montar a lista em memória
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<ExchangeReturn> exchanges = exchangeService.streamAllByCenterId(centerId)) {
+                Iterator<ExchangeReturn> iterator = exchanges.iterator();
+                while (iterator.hasNext()) {
+                    outputStream.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    outputStream.write('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok(body);
     }
 }
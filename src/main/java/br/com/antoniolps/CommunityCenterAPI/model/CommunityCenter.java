@@ -3,8 +3,14 @@ package br.com.antoniolps.CommunityCenterAPI.model;
 import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
+import org.springframework.data.mongodb.core.index.IndexDirection;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
@@ -12,13 +18,32 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class CommunityCenter {
     @Id
     private UUID id;
     private String name;
     private Address address;
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint location;
     private int maxCapacity;
+    // Atende o sort + limit de findCenterWithHighestOccupancy lendo só a primeira entrada do índice
+    @Indexed(direction = IndexDirection.DESCENDING)
     private int currentOccupancy;
+    @Indexed
+    private double occupancyRatio;
+    @Indexed
+    private boolean full;
+    // Incrementada a cada escrita de ocupação: ordena eventos que chegam por caminhos diferentes
+    private long occupancyVersion;
     private Map<ResourceTypeEnum, Integer> resourceMap;
+
+    // Cópia independente dos campos mutáveis; GeoJsonPoint já é imutável
+    public CommunityCenter copy() {
+        return toBuilder()
+                .address(address != null ? new Address(address.getStreet(), address.getCity(), address.getState(),
+                        address.getZipCode(), address.getLatitude(), address.getLongitude()) : null)
+                .resourceMap(resourceMap != null ? new HashMap<>(resourceMap) : null)
+                .build();
+    }
 }
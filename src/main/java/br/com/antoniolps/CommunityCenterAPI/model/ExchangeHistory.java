@@ -1,15 +1,21 @@
 package br.com.antoniolps.CommunityCenterAPI.model;
 
-import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
-import java.util.Map;
 import java.util.UUID;
 
 @Document(collection = "exchange_history")
+// O _id no fim cobre o desempate da paginação por (timestamp, id) sem um estágio SORT em memória
+@CompoundIndexes({
+        @CompoundIndex(name = "source_timestamp_id_idx", def = "{'sourceCenterId': 1, 'timestamp': -1, '_id': -1}"),
+        @CompoundIndex(name = "target_timestamp_id_idx", def = "{'targetCenterId': 1, 'timestamp': -1, '_id': -1}")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,8 +25,11 @@ public class ExchangeHistory {
     private UUID id;
     private String sourceCenterId;
     private String targetCenterId;
-    private Map<ResourceTypeEnum, Integer> resourcesGiven;
-    private Map<ResourceTypeEnum, Integer> resourcesReceived;
+    private ResourceVector resourcesGiven;
+    private ResourceVector resourcesReceived;
     private LocalDateTime timestamp;
+    // Só trocas em lote; permite à recuperação saber se o histórico de um lote interrompido foi gravado
+    @Indexed(sparse = true)
+    private UUID batchId;
 }
 
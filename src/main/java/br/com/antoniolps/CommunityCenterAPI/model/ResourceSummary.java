@@ -0,0 +1,24 @@
+package br.com.antoniolps.CommunityCenterAPI.model;
+
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Map;
+
+@Document(collection = "resource_summary")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResourceSummary {
+    @Id
+    private ResourceTypeEnum type;
+    private long total;
+    private int centers;
+    // Quantidade em estoque -> número de centros com essa quantidade; dá o mínimo e o máximo sem varrer os centros
+    private Map<Integer, Integer> histogram;
+    // Incrementada a cada $inc; a reconciliação só regrava o documento se ela não mudou desde a leitura
+    private long version;
+}
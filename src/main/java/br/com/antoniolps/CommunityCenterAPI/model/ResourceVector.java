@@ -0,0 +1,181 @@
+package br.com.antoniolps.CommunityCenterAPI.model;
+
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+// Quantidades por tipo de recurso em um int[] indexado pelo ordinal, sem boxing nem entradas de HashMap.
+// No MongoDB e no JSON continua com o formato de mapa {"TIPO": quantidade}, omitindo os zeros.
+@JsonSerialize(using = ResourceVector.JsonWriter.class)
+@JsonDeserialize(using = ResourceVector.JsonReader.class)
+public final class ResourceVector {
+
+    private static final ResourceTypeEnum[] TYPES = ResourceTypeEnum.values();
+    private static final int[] POINTS = Arrays.stream(TYPES).mapToInt(ResourceTypeEnum::getPoints).toArray();
+
+    public static final ResourceVector EMPTY = new ResourceVector(new int[TYPES.length]);
+
+    private final int[] quantities;
+
+    private ResourceVector(int[] quantities) {
+        this.quantities = quantities;
+    }
+
+    public static ResourceVector of(Map<ResourceTypeEnum, Integer> resources) {
+        if (resources == null || resources.isEmpty()) {
+            return EMPTY;
+        }
+        int[] quantities = new int[TYPES.length];
+        resources.forEach((type, quantity) -> quantities[type.ordinal()] += quantity == null ? 0 : quantity);
+        return new ResourceVector(quantities);
+    }
+
+    public static ResourceVector of(ResourceTypeEnum type, int quantity) {
+        int[] quantities = new int[TYPES.length];
+        quantities[type.ordinal()] = quantity;
+        return new ResourceVector(quantities);
+    }
+
+    public int get(ResourceTypeEnum type) {
+        return quantities[type.ordinal()];
+    }
+
+    public int points() {
+        int points = 0;
+        for (int i = 0; i < quantities.length; i++) {
+            points += POINTS[i] * quantities[i];
+        }
+        return points;
+    }
+
+    public ResourceVector plus(ResourceVector other) {
+        int[] result = new int[TYPES.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = quantities[i] + other.quantities[i];
+        }
+        return new ResourceVector(result);
+    }
+
+    public ResourceVector minus(ResourceVector other) {
+        int[] result = new int[TYPES.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = quantities[i] - other.quantities[i];
+        }
+        return new ResourceVector(result);
+    }
+
+    public ResourceVector negate() {
+        return EMPTY.minus(this);
+    }
+
+    public boolean isEmpty() {
+        for (int quantity : quantities) {
+            if (quantity != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Percorre apenas os tipos com quantidade diferente de zero
+    public void forEach(ObjIntConsumer<ResourceTypeEnum> action) {
+        for (int i = 0; i < quantities.length; i++) {
+            if (quantities[i] != 0) {
+                action.accept(TYPES[i], quantities[i]);
+            }
+        }
+    }
+
+    public Map<ResourceTypeEnum, Integer> toMap() {
+        Map<ResourceTypeEnum, Integer> map = new EnumMap<>(ResourceTypeEnum.class);
+        forEach(map::put);
+        return map;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof ResourceVector vector && Arrays.equals(quantities, vector.quantities);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(quantities);
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    @WritingConverter
+    public static class MongoWriter implements Converter<ResourceVector, Document> {
+
+        @Override
+        public Document convert(ResourceVector source) {
+            Document document = new Document();
+            source.forEach((type, quantity) -> document.put(type.name(), quantity));
+            return document;
+        }
+    }
+
+    @ReadingConverter
+    public static class MongoReader implements Converter<Document, ResourceVector> {
+
+        @Override
+        public ResourceVector convert(Document source) {
+            int[] quantities = new int[TYPES.length];
+            source.forEach((key, value) -> {
+                if (value instanceof Number number) {
+                    quantities[ResourceTypeEnum.valueOf(key).ordinal()] = number.intValue();
+                }
+            });
+            return new ResourceVector(quantities);
+        }
+    }
+
+    static class JsonWriter extends JsonSerializer<ResourceVector> {
+
+        @Override
+        public void serialize(ResourceVector value, JsonGenerator generator, SerializerProvider serializers) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < value.quantities.length; i++) {
+                if (value.quantities[i] != 0) {
+                    generator.writeNumberField(TYPES[i].name(), value.quantities[i]);
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    static class JsonReader extends JsonDeserializer<ResourceVector> {
+
+        @Override
+        public ResourceVector deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            int[] quantities = new int[TYPES.length];
+            JsonToken token = parser.currentToken() == JsonToken.START_OBJECT ? parser.nextToken() : parser.currentToken();
+            for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+                ResourceTypeEnum type = ResourceTypeEnum.valueOf(parser.currentName());
+                parser.nextToken();
+                quantities[type.ordinal()] = parser.getIntValue();
+            }
+            return new ResourceVector(quantities);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.antoniolps.CommunityCenterAPI.model.dtos;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CenterOccupancyResult {
+    private String centerId;
+    private int appliedDelta;
+    private int rejectedEvents;
+    private Integer currentOccupancy;
+    private boolean conflicted;
+}
@@ -0,0 +1,13 @@
+package br.com.antoniolps.CommunityCenterAPI.model.dtos;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ExchangePage {
+    private List<ExchangeReturn> content;
+    private String next;
+}
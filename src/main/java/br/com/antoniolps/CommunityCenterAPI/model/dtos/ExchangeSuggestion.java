@@ -0,0 +1,19 @@
+package br.com.antoniolps.CommunityCenterAPI.model.dtos;
+
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class ExchangeSuggestion {
+    private String sourceCenterId;
+    private String targetCenterId;
+    private String targetCenterName;
+    private Map<ResourceTypeEnum, Integer> resourcesGiven;
+    private Map<ResourceTypeEnum, Integer> resourcesRequested;
+    private int points;
+    private Double distanceInMeters;
+}
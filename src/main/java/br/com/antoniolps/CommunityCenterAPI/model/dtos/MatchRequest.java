@@ -0,0 +1,15 @@
+package br.com.antoniolps.CommunityCenterAPI.model.dtos;
+
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class MatchRequest {
+    private String centerId;
+    private Map<ResourceTypeEnum, Integer> needs;
+    private Map<ResourceTypeEnum, Integer> surplus;
+    private boolean nearestFirst;
+    private int limit = 5;
+}
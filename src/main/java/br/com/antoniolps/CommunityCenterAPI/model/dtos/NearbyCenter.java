@@ -0,0 +1,21 @@
+package br.com.antoniolps.CommunityCenterAPI.model.dtos;
+
+import br.com.antoniolps.CommunityCenterAPI.model.Address;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+public class NearbyCenter {
+    @Id
+    private UUID id;
+    private String name;
+    private Address address;
+    private int maxCapacity;
+    private int currentOccupancy;
+    private Map<ResourceTypeEnum, Integer> resourceMap;
+    private double distanceInMeters;
+}
@@ -0,0 +1,14 @@
+package br.com.antoniolps.CommunityCenterAPI.model.dtos;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class OccupancyBatchResult {
+    private int acceptedEvents;
+    private int rejectedEvents;
+    private List<CenterOccupancyResult> centers;
+}
@@ -0,0 +1,8 @@
+package br.com.antoniolps.CommunityCenterAPI.model.dtos;
+
+import lombok.Data;
+
+@Data
+public class OccupancyDeltaRequest {
+    private int delta;
+}
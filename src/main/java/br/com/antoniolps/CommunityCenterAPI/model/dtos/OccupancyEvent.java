@@ -0,0 +1,13 @@
+package br.com.antoniolps.CommunityCenterAPI.model.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancyEvent {
+    private String centerId;
+    private int delta;
+}
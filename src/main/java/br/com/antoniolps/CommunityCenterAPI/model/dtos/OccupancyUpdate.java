@@ -0,0 +1,15 @@
+package br.com.antoniolps.CommunityCenterAPI.model.dtos;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@Builder
+public class OccupancyUpdate {
+    private UUID centerId;
+    private String name;
+    private int currentOccupancy;
+    private int maxCapacity;
+}
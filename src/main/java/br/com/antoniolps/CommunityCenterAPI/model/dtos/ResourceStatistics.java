@@ -0,0 +1,14 @@
+package br.com.antoniolps.CommunityCenterAPI.model.dtos;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ResourceStatistics {
+    private long total;
+    private int centers;
+    private double average;
+    private Integer min;
+    private Integer max;
+}
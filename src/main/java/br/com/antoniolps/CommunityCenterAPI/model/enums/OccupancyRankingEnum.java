@@ -0,0 +1,6 @@
+package br.com.antoniolps.CommunityCenterAPI.model.enums;
+
+public enum OccupancyRankingEnum {
+    ABSOLUTE,
+    RATIO
+}
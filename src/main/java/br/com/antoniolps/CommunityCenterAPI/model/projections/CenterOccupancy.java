@@ -0,0 +1,15 @@
+package br.com.antoniolps.CommunityCenterAPI.model.projections;
+
+import java.util.UUID;
+
+public interface CenterOccupancy {
+    UUID getId();
+
+    String getName();
+
+    int getCurrentOccupancy();
+
+    int getMaxCapacity();
+
+    long getOccupancyVersion();
+}
@@ -0,0 +1,9 @@
+package br.com.antoniolps.CommunityCenterAPI.model.projections;
+
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceVector;
+
+import java.util.UUID;
+
+// Marcação de um lote de trocas em um centro: o delta aplicado e quantas trocas o lote registra no histórico
+public record PendingExchangeBatch(UUID centerId, UUID batchId, ResourceVector delta, int exchanges) {
+}
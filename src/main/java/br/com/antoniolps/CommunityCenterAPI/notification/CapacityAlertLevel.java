@@ -0,0 +1,16 @@
+package br.com.antoniolps.CommunityCenterAPI.notification;
+
+public enum CapacityAlertLevel {
+    NORMAL,
+    NEAR_FULL,
+    FULL;
+
+    private static final double NEAR_FULL_RATIO = 0.9;
+
+    public static CapacityAlertLevel of(int currentOccupancy, int maxCapacity) {
+        if (currentOccupancy >= maxCapacity) {
+            return FULL;
+        }
+        return currentOccupancy >= maxCapacity * NEAR_FULL_RATIO ? NEAR_FULL : NORMAL;
+    }
+}
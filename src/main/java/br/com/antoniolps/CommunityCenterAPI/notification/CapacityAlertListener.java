@@ -0,0 +1,42 @@
+package br.com.antoniolps.CommunityCenterAPI.notification;
+
+import br.com.antoniolps.CommunityCenterAPI.stream.CommunityCenterChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class CapacityAlertListener {
+
+    private final List<CapacityAlertSink> sinks;
+
+    // Último nível alertado por centro: o mesmo nível não é notificado de novo até a ocupação baixar
+    private final Map<UUID, CapacityAlertLevel> alertedLevels = new ConcurrentHashMap<>();
+
+    @EventListener
+    public void onOccupancyChanged(OccupancyChangedEvent event) {
+        CapacityAlertLevel level = CapacityAlertLevel.of(event.currentOccupancy(), event.maxCapacity());
+
+        CapacityAlertLevel previous = level == CapacityAlertLevel.NORMAL
+                ? alertedLevels.remove(event.centerId())
+                : alertedLevels.put(event.centerId(), level);
+
+        if (level.compareTo(previous == null ? CapacityAlertLevel.NORMAL : previous) > 0) {
+            sinks.forEach(sink -> sink.send(event, level));
+        }
+    }
+
+    // Centro removido: descarta o nível para o mapa não crescer com centros que não existem mais
+    @EventListener
+    public void onCenterChanged(CommunityCenterChangedEvent event) {
+        if (event.center() == null) {
+            alertedLevels.remove(event.centerId());
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.antoniolps.CommunityCenterAPI.notification;
+
+public interface CapacityAlertSink {
+
+    void send(OccupancyChangedEvent event, CapacityAlertLevel level);
+}
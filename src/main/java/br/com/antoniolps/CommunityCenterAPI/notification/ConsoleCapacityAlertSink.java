@@ -0,0 +1,17 @@
+package br.com.antoniolps.CommunityCenterAPI.notification;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class ConsoleCapacityAlertSink implements CapacityAlertSink {
+
+    @Override
+    public void send(OccupancyChangedEvent event, CapacityAlertLevel level) {
+        // Simula a notificação enquanto não há um canal real configurado
+        if (level == CapacityAlertLevel.FULL) {
+            System.out.println("Alerta: O centro comunitário " + event.centerName() + " atingiu sua capacidade máxima.");
+        } else {
+            System.out.println("Alerta: O centro comunitário " + event.centerName() + " atingiu 90% da sua capacidade máxima.");
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.antoniolps.CommunityCenterAPI.notification;
+
+import java.util.UUID;
+
+public record OccupancyChangedEvent(UUID centerId, String centerName, int currentOccupancy, int maxCapacity, long occupancyVersion) {
+}
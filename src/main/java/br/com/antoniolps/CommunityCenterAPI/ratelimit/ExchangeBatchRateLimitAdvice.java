@@ -0,0 +1,75 @@
+package br.com.antoniolps.CommunityCenterAPI.ratelimit;
+
+import br.com.antoniolps.CommunityCenterAPI.controller.ExchangesController;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+// O tamanho do lote só é conhecido depois de ler o corpo, então o limite é aplicado aqui e não no interceptor
+@ControllerAdvice(assignableTypes = ExchangesController.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "community-center.rate-limit.enabled", havingValue = "true")
+public class ExchangeBatchRateLimitAdvice extends RequestBodyAdviceAdapter {
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final boolean trustClientIdHeader;
+
+    @Autowired
+    public ExchangeBatchRateLimitAdvice(
+            MeterRegistry meterRegistry,
+            @Value("${community-center.rate-limit.max-keys:100000}") long maxKeys,
+            @Value("${community-center.rate-limit.exchange-batch.permits-per-second:50}") double permitsPerSecond,
+            @Value("${community-center.rate-limit.exchange-batch.burst:1000}") int burst,
+            @Value("${community-center.rate-limit.trust-client-id-header:false}") boolean trustClientIdHeader) {
+        this(new TokenBucketRateLimiter("exchange-batch", permitsPerSecond, burst, maxKeys, meterRegistry, System::nanoTime),
+                trustClientIdHeader);
+    }
+
+    ExchangeBatchRateLimitAdvice(TokenBucketRateLimiter rateLimiter, boolean trustClientIdHeader) {
+        this.rateLimiter = rateLimiter;
+        this.trustClientIdHeader = trustClientIdHeader;
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return List.class.isAssignableFrom(methodParameter.getParameterType());
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        String clientId = RateLimitInterceptor.clientId(attributes.getRequest(), trustClientIdHeader);
+
+        // Cada troca do lote consome uma ficha do cliente
+        long waitNanos = rateLimiter.tryAcquire(clientId, ((List<?>) body).size());
+        if (waitNanos > 0) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(TokenBucketRateLimiter.retryAfterSeconds(waitNanos)));
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Limite de trocas em lote excedido para o cliente.") {
+                @Override
+                public HttpHeaders getHeaders() {
+                    return headers;
+                }
+            };
+        }
+        return body;
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.antoniolps.CommunityCenterAPI.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private final TokenBucketRateLimiter clientRateLimiter;
+    private final TokenBucketRateLimiter centerRateLimiter;
+    private final boolean trustClientIdHeader;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        // PATCH de ocupação é o delta de uma catraca: recusado, a entrada ou saída se perderia. Só o PUT, absoluto, é limitado
+        if (HttpMethod.GET.matches(request.getMethod()) || HttpMethod.PATCH.matches(request.getMethod())) {
+            return true;
+        }
+
+        String centerId = centerId(request);
+        long waitNanos = clientRateLimiter.tryAcquire(centerId + "|" + clientId(request, trustClientIdHeader));
+        if (waitNanos == 0 && !centerId.isEmpty()) {
+            // Limite agregado do centro: trocar de identificador de cliente não contorna o limite
+            waitNanos = centerRateLimiter.tryAcquire(centerId);
+        }
+        if (waitNanos == 0) {
+            return true;
+        }
+
+        // Recusa antes do binding e de qualquer acesso ao MongoDB
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(TokenBucketRateLimiter.retryAfterSeconds(waitNanos)));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Limite de requisições excedido para o centro comunitário.");
+        return false;
+    }
+
+    // O cabeçalho só identifica o cliente quando um proxy confiável o define e descarta o valor enviado pelo cliente
+    static String clientId(HttpServletRequest request, boolean trustClientIdHeader) {
+        String clientId = trustClientIdHeader ? request.getHeader(CLIENT_ID_HEADER) : null;
+        return clientId != null && !clientId.isBlank() ? clientId : request.getRemoteAddr();
+    }
+
+    private String centerId(HttpServletRequest request) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (pathVariables != null && pathVariables.containsKey("id")) {
+            return pathVariables.get("id");
+        }
+        String sourceCenterId = request.getParameter("sourceCenterId");
+        return sourceCenterId != null ? sourceCenterId : "";
+    }
+}
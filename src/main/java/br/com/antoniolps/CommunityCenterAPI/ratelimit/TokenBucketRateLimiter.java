@@ -0,0 +1,69 @@
+package br.com.antoniolps.CommunityCenterAPI.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+public class TokenBucketRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+    private final Cache<String, AtomicLong> buckets;
+    private final Counter shedRequests;
+
+    public TokenBucketRateLimiter(String name, double permitsPerSecond, int burst, long maxKeys,
+                                  MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Limite inválido: taxa e rajada devem ser maiores que zero.");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.nanoClock = nanoClock;
+        // Depois desse tempo parado o balde estaria cheio de novo, então descartá-lo não muda o resultado
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(burstToleranceNanos + emissionIntervalNanos))
+                .build();
+        this.shedRequests = Counter.builder("rate.limit.shed")
+                .tag("limiter", name)
+                .register(meterRegistry);
+    }
+
+    // Retorna 0 se a requisição foi aceita, ou quantos nanossegundos faltam para a próxima ficha
+    public long tryAcquire(String key) {
+        return tryAcquire(key, 1);
+    }
+
+    // Consome várias fichas de uma vez; um pedido maior que a rajada nunca é aceito
+    public long tryAcquire(String key, int permits) {
+        long now = nanoClock.getAsLong();
+        long increment = emissionIntervalNanos * Math.max(1, permits);
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(now));
+
+        // Cada balde é um único long com o instante em que ele volta a ficar cheio; sem lock, só CAS
+        while (true) {
+            long fullAt = bucket.get();
+            long base = fullAt - now > 0 ? fullAt : now;
+            long wait = base + increment - emissionIntervalNanos - now - burstToleranceNanos;
+            if (wait > 0) {
+                shedRequests.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, base + increment)) {
+                return 0;
+            }
+        }
+    }
+
+    public static long retryAfterSeconds(long waitNanos) {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        return Math.max(1, (waitNanos + second - 1) / second);
+    }
+}
@@ -1,14 +1,57 @@
 package br.com.antoniolps.CommunityCenterAPI.repository;
 
+import br.com.antoniolps.CommunityCenterAPI.config.CacheConfig;
 import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.projections.CenterOccupancy;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface CommunityCenterRepository extends MongoRepository<CommunityCenter, UUID> {
+public interface CommunityCenterRepository extends MongoRepository<CommunityCenter, UUID>, CommunityCenterRepositoryCustom {
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.COMMUNITY_CENTER_CACHE, key = "#p0", unless = "#result == null")
+    Optional<CommunityCenter> findById(UUID id);
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.COMMUNITY_CENTER_CACHE, CacheConfig.CENTER_OCCUPANCY_CACHE}, key = "#p0.id", condition = "#p0.id != null")
+    <S extends CommunityCenter> S save(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.COMMUNITY_CENTER_CACHE, CacheConfig.CENTER_OCCUPANCY_CACHE}, key = "#p0.id", condition = "#p0.id != null")
+    void delete(CommunityCenter entity);
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.COMMUNITY_CENTER_CACHE, CacheConfig.CENTER_OCCUPANCY_CACHE}, key = "#p0")
+    void deleteById(UUID id);
+
+    // Projeção: traz apenas id, ocupação e capacidade, sem endereço e recursos
+    @Cacheable(cacheNames = CacheConfig.CENTER_OCCUPANCY_CACHE, key = "#p0", unless = "#result == null")
+    Optional<CenterOccupancy> findOccupancyById(UUID id);
+
+    List<CenterOccupancy> findOccupancyByIdIn(Collection<UUID> ids);
+
+    @Query(value = "{}", fields = "{ 'name': 1, 'currentOccupancy': 1, 'maxCapacity': 1, 'occupancyVersion': 1 }")
+    List<CenterOccupancy> findAllOccupancies();
+
+    @Query(value = "{}", fields = "{ 'name': 1, 'resourceMap': 1, 'location': 1 }")
+    List<CommunityCenter> findAllResourceHoldings();
+
+    @Query(value = "{ '_id': { '$in': ?0 } }", fields = "{ 'name': 1, 'resourceMap': 1, 'location': 1 }")
+    List<CommunityCenter> findResourceHoldingsByIdIn(Collection<UUID> ids);
+
+    // Usa o índice do flag "full" em vez de varrer todos os centros ocupados
+    List<CenterOccupancy> findOccupancyByFullTrue();
 
     List<CommunityCenter> findByCurrentOccupancyGreaterThan(int occupancy);
+
+    List<CommunityCenter> findByOccupancyRatioGreaterThan(double occupancyRatio);
 }
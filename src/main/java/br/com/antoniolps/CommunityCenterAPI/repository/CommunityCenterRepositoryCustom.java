@@ -0,0 +1,56 @@
+package br.com.antoniolps.CommunityCenterAPI.repository;
+
+import br.com.antoniolps.CommunityCenterAPI.config.CacheConfig;
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceSummary;
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceVector;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.NearbyCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import br.com.antoniolps.CommunityCenterAPI.model.projections.CenterOccupancy;
+import br.com.antoniolps.CommunityCenterAPI.model.projections.PendingExchangeBatch;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+public interface CommunityCenterRepositoryCustom {
+
+    Optional<CommunityCenter> findCenterWithHighestOccupancy();
+
+    List<ResourceSummary> summarizeResources();
+
+    List<NearbyCenter> findNearestAvailable(GeoJsonPoint point, int minFreeCapacity, ResourceTypeEnum resource,
+                                            int minQuantity, Double maxDistanceInMeters, int limit);
+
+    long backfillLocations();
+
+    long backfillOccupancyFields();
+
+    @CacheEvict(cacheNames = {CacheConfig.COMMUNITY_CENTER_CACHE, CacheConfig.CENTER_OCCUPANCY_CACHE}, key = "#p0")
+    Optional<Map<ResourceTypeEnum, Integer>> applyResourceDelta(UUID centerId, ResourceVector delta);
+
+    @CacheEvict(cacheNames = {CacheConfig.COMMUNITY_CENTER_CACHE, CacheConfig.CENTER_OCCUPANCY_CACHE}, key = "#p0")
+    void revertResourceDelta(UUID centerId, ResourceVector delta);
+
+    @CacheEvict(cacheNames = {CacheConfig.COMMUNITY_CENTER_CACHE, CacheConfig.CENTER_OCCUPANCY_CACHE}, key = "#p0")
+    Optional<CommunityCenter> incrementOccupancy(UUID centerId, int delta);
+
+    @CacheEvict(cacheNames = {CacheConfig.COMMUNITY_CENTER_CACHE, CacheConfig.CENTER_OCCUPANCY_CACHE}, key = "#p0")
+    Optional<CommunityCenter> setOccupancy(UUID centerId, int occupancy);
+
+    Set<UUID> bulkIncrementOccupancy(Map<UUID, Integer> deltas, Map<UUID, ? extends CenterOccupancy> snapshot);
+
+    boolean applyResourceDeltas(Map<UUID, ResourceVector> deltas, UUID batchId, int exchanges);
+
+    Map<UUID, Map<ResourceTypeEnum, Integer>> completeExchangeBatch(Collection<UUID> centerIds, UUID batchId);
+
+    List<PendingExchangeBatch> findStaleExchangeBatches(Instant startedBefore);
+
+    boolean revertExchangeBatch(UUID centerId, UUID batchId, ResourceVector delta);
+}
@@ -0,0 +1,402 @@
+package br.com.antoniolps.CommunityCenterAPI.repository;
+
+import br.com.antoniolps.CommunityCenterAPI.config.CacheConfig;
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceSummary;
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceVector;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.NearbyCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import br.com.antoniolps.CommunityCenterAPI.model.projections.CenterOccupancy;
+import br.com.antoniolps.CommunityCenterAPI.model.projections.PendingExchangeBatch;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ObjectOperators;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.NearQuery;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class CommunityCenterRepositoryCustomImpl implements CommunityCenterRepositoryCustom {
+
+    private static final String RESOURCE_MAP = "resourceMap";
+    private static final String CURRENT_OCCUPANCY = "currentOccupancy";
+    private static final String MAX_CAPACITY = "maxCapacity";
+    private static final String OCCUPANCY_RATIO = "occupancyRatio";
+    private static final String FULL = "full";
+    private static final String OCCUPANCY_VERSION = "occupancyVersion";
+    private static final String LOCATION = "location";
+    private static final String PENDING_EXCHANGE_BATCHES = "pendingExchangeBatches";
+    private static final String BATCH_ID = "batchId";
+    private static final String BATCH_DELTA = "delta";
+    private static final String BATCH_STARTED_AT = "startedAt";
+    private static final String BATCH_EXCHANGES = "exchanges";
+    private static final String BATCH_BEFORE = "before";
+    private static final String OCCUPANCY_BATCHES = "occupancyBatches";
+
+    private final MongoTemplate mongoTemplate;
+    private final CacheManager cacheManager;
+
+    @Override
+    public Optional<CommunityCenter> findCenterWithHighestOccupancy() {
+        return Optional.ofNullable(mongoTemplate.aggregate(highestOccupancyAggregation(), CommunityCenter.class, CommunityCenter.class)
+                .getUniqueMappedResult());
+    }
+
+    static Aggregation highestOccupancyAggregation() {
+        return Aggregation.newAggregation(
+                Aggregation.sort(Sort.Direction.DESC, CURRENT_OCCUPANCY),
+                Aggregation.limit(1)
+        );
+    }
+
+    @Override
+    public List<ResourceSummary> summarizeResources() {
+        // Converte o resourceMap em pares {k, v} e conta, no próprio MongoDB, quantos centros têm cada quantidade
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.project().and(ObjectOperators.valueOf(RESOURCE_MAP).toArray()).as("resources"),
+                Aggregation.unwind("resources"),
+                Aggregation.group("resources.k", "resources.v").count().as("centers")
+        );
+
+        Map<ResourceTypeEnum, ResourceSummary> summaries = new EnumMap<>(ResourceTypeEnum.class);
+        for (Document result : mongoTemplate.aggregate(aggregation, CommunityCenter.class, Document.class)) {
+            Document group = result.get("_id", Document.class);
+            if (!(group.get("v") instanceof Number value)) {
+                continue;
+            }
+            int quantity = value.intValue();
+            int centers = ((Number) result.get("centers")).intValue();
+
+            ResourceSummary summary = summaries.computeIfAbsent(ResourceTypeEnum.valueOf(group.getString("k")),
+                    type -> ResourceSummary.builder().type(type).histogram(new TreeMap<>()).build());
+            summary.setTotal(summary.getTotal() + (long) quantity * centers);
+            summary.setCenters(summary.getCenters() + centers);
+            summary.getHistogram().put(quantity, centers);
+        }
+        return List.copyOf(summaries.values());
+    }
+
+    @Override
+    public List<NearbyCenter> findNearestAvailable(GeoJsonPoint point, int minFreeCapacity, ResourceTypeEnum resource,
+                                                   int minQuantity, Double maxDistanceInMeters, int limit) {
+        // Os filtros de vaga e de recurso vão dentro do $geoNear, que já devolve os centros ordenados por distância
+        Criteria criteria = Criteria.where(FULL).ne(true)
+                .andOperator(Criteria.expr(ComparisonOperators.valueOf(
+                        ArithmeticOperators.valueOf(MAX_CAPACITY).subtract(CURRENT_OCCUPANCY))
+                        .greaterThanEqualToValue(minFreeCapacity)));
+        if (resource != null) {
+            criteria.and(RESOURCE_MAP + "." + resource.name()).gte(minQuantity);
+        }
+
+        NearQuery nearQuery = NearQuery.near(point).spherical(true).query(new Query(criteria));
+        if (maxDistanceInMeters != null) {
+            nearQuery.maxDistance(maxDistanceInMeters);
+        }
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.geoNear(nearQuery, "distanceInMeters"),
+                Aggregation.limit(limit)
+        );
+
+        return mongoTemplate.aggregate(aggregation, CommunityCenter.class, NearbyCenter.class).getMappedResults();
+    }
+
+    @Override
+    public long backfillLocations() {
+        // Centros gravados antes do campo location recebem o ponto a partir das coordenadas do endereço
+        Query query = new Query(Criteria.where(LOCATION).exists(false).and("address").exists(true));
+        AggregationUpdate update = AggregationUpdate.update().set(LOCATION).toValue(new Document("type", "Point")
+                .append("coordinates", List.of("$address.longitude", "$address.latitude")));
+
+        return mongoTemplate.updateMulti(query, update, CommunityCenter.class).getModifiedCount();
+    }
+
+    @Override
+    public long backfillOccupancyFields() {
+        // Centros gravados antes da razão de ocupação e do flag "full" não aparecem nas consultas indexadas por eles
+        Query query = new Query(Criteria.where(MAX_CAPACITY).gt(0)
+                .orOperator(Criteria.where(OCCUPANCY_RATIO).exists(false), Criteria.where(FULL).exists(false)));
+        AggregationUpdate update = AggregationUpdate.update()
+                .set(OCCUPANCY_RATIO).toValue(ArithmeticOperators.valueOf(CURRENT_OCCUPANCY).divideBy(MAX_CAPACITY))
+                .set(FULL).toValue(ComparisonOperators.valueOf(CURRENT_OCCUPANCY).greaterThanEqualTo(MAX_CAPACITY));
+
+        return mongoTemplate.updateMulti(query, update, CommunityCenter.class).getModifiedCount();
+    }
+
+    @Override
+    public Optional<Map<ResourceTypeEnum, Integer>> applyResourceDelta(UUID centerId, ResourceVector delta) {
+        // O documento de antes da escrita vem do próprio update, não de uma leitura anterior que pode estar defasada
+        Query guard = resourceGuard(centerId, delta);
+        guard.fields().include(RESOURCE_MAP);
+        CommunityCenter previous = mongoTemplate.findAndModify(guard, resourceIncrement(delta, 1),
+                FindAndModifyOptions.options().returnNew(false), CommunityCenter.class);
+        return Optional.ofNullable(previous)
+                .map(center -> center.getResourceMap() == null ? Map.of() : center.getResourceMap());
+    }
+
+    @Override
+    public void revertResourceDelta(UUID centerId, ResourceVector delta) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(centerId)), resourceIncrement(delta, -1),
+                CommunityCenter.class);
+    }
+
+    @Override
+    public boolean applyResourceDeltas(Map<UUID, ResourceVector> deltas, UUID batchId, int exchanges) {
+        if (deltas.isEmpty()) {
+            return true;
+        }
+
+        // Cada centro fica marcado com o lote até o histórico ser gravado (completeExchangeBatch); com o delta,
+        // o início e o número de trocas, um lote interrompido por uma queda pode ser concluído ou desfeito depois
+        Document pendingBatch = pendingBatch(batchId, new Date(), exchanges);
+        BulkOperations apply = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CommunityCenter.class);
+        deltas.forEach((centerId, delta) -> apply.updateOne(resourceGuard(centerId, delta),
+                pendingResourceIncrement(delta, new Document(pendingBatch).append(BATCH_DELTA, quantities(delta)))));
+        boolean applied = apply.execute().getMatchedCount() == deltas.size();
+
+        if (!applied) {
+            BulkOperations revert = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CommunityCenter.class);
+            deltas.forEach((centerId, delta) -> revert.updateOne(pendingBatchQuery(centerId, batchId),
+                    resourceIncrement(delta, -1).pull(PENDING_EXCHANGE_BATCHES, new Document(BATCH_ID, batchId))));
+            revert.execute();
+        }
+
+        deltas.keySet().forEach(this::evictCenter);
+        return applied;
+    }
+
+    @Override
+    public Map<UUID, Map<ResourceTypeEnum, Integer>> completeExchangeBatch(Collection<UUID> centerIds, UUID batchId) {
+        if (centerIds.isEmpty()) {
+            return Map.of();
+        }
+
+        // Lê da marcação as quantidades de antes do lote antes de retirá-la
+        Query marked = new Query(Criteria.where("_id").in(centerIds).and(PENDING_EXCHANGE_BATCHES + "." + BATCH_ID).is(batchId));
+        marked.fields().elemMatch(PENDING_EXCHANGE_BATCHES, Criteria.where(BATCH_ID).is(batchId));
+        Map<UUID, Map<ResourceTypeEnum, Integer>> previous = new HashMap<>();
+        for (Document center : mongoTemplate.find(marked, Document.class, mongoTemplate.getCollectionName(CommunityCenter.class))) {
+            Document before = center.getList(PENDING_EXCHANGE_BATCHES, Document.class).get(0).get(BATCH_BEFORE, Document.class);
+            if (before != null) {
+                previous.put(center.get("_id", UUID.class), resourceQuantities(before));
+            }
+        }
+
+        Query pending = new Query(Criteria.where("id").in(centerIds).and(PENDING_EXCHANGE_BATCHES + "." + BATCH_ID).is(batchId));
+        mongoTemplate.updateMulti(pending, new Update().pull(PENDING_EXCHANGE_BATCHES, new Document(BATCH_ID, batchId)),
+                CommunityCenter.class);
+        return previous;
+    }
+
+    @Override
+    public List<PendingExchangeBatch> findStaleExchangeBatches(Instant startedBefore) {
+        Date cutoff = Date.from(startedBefore);
+        Query stale = new Query(Criteria.where(PENDING_EXCHANGE_BATCHES + "." + BATCH_STARTED_AT).lt(cutoff));
+        stale.fields().include(PENDING_EXCHANGE_BATCHES);
+
+        List<PendingExchangeBatch> batches = new ArrayList<>();
+        for (Document center : mongoTemplate.find(stale, Document.class, mongoTemplate.getCollectionName(CommunityCenter.class))) {
+            UUID centerId = center.get("_id", UUID.class);
+            for (Document pending : center.getList(PENDING_EXCHANGE_BATCHES, Document.class)) {
+                if (pending.getDate(BATCH_STARTED_AT).before(cutoff)) {
+                    batches.add(new PendingExchangeBatch(centerId, pending.get(BATCH_ID, UUID.class),
+                            resourceVector(pending.get(BATCH_DELTA, Document.class)), pending.getInteger(BATCH_EXCHANGES)));
+                }
+            }
+        }
+        return batches;
+    }
+
+    @Override
+    public boolean revertExchangeBatch(UUID centerId, UUID batchId, ResourceVector delta) {
+        // A condição na marcação torna a reversão idempotente entre instâncias
+        boolean reverted = mongoTemplate.updateFirst(pendingBatchQuery(centerId, batchId),
+                resourceIncrement(delta, -1).pull(PENDING_EXCHANGE_BATCHES, new Document(BATCH_ID, batchId)),
+                CommunityCenter.class).getModifiedCount() == 1;
+        evictCenter(centerId);
+        return reverted;
+    }
+
+    @Override
+    public Optional<CommunityCenter> incrementOccupancy(UUID centerId, int delta) {
+        Query query = occupancyGuard(centerId, delta);
+        query.fields().include("name", CURRENT_OCCUPANCY, MAX_CAPACITY, OCCUPANCY_RATIO, FULL, OCCUPANCY_VERSION);
+
+        return Optional.ofNullable(mongoTemplate.findAndModify(query,
+                occupancyUpdate(ArithmeticOperators.valueOf(CURRENT_OCCUPANCY).add(delta)),
+                FindAndModifyOptions.options().returnNew(true), CommunityCenter.class));
+    }
+
+    @Override
+    public Optional<CommunityCenter> setOccupancy(UUID centerId, int occupancy) {
+        // Só toca nos campos de ocupação, preservando $inc concorrentes nos recursos
+        Query query = new Query(Criteria.where("id").is(centerId).and(MAX_CAPACITY).gte(occupancy));
+        query.fields().include("name", CURRENT_OCCUPANCY, MAX_CAPACITY, OCCUPANCY_RATIO, FULL, OCCUPANCY_VERSION);
+
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, occupancyUpdate(occupancy),
+                FindAndModifyOptions.options().returnNew(true), CommunityCenter.class));
+    }
+
+    @Override
+    public Set<UUID> bulkIncrementOccupancy(Map<UUID, Integer> deltas, Map<UUID, ? extends CenterOccupancy> snapshot) {
+        if (deltas.isEmpty()) {
+            return Set.of();
+        }
+
+        // O bulkWrite só informa quantos documentos casaram; a chave do lote gravada no documento diz quais foram.
+        // Só este lote escreve e remove a própria chave, então outros lotes não a apagam antes da leitura
+        UUID batchId = UUID.randomUUID();
+        String batchKey = OCCUPANCY_BATCHES + "." + batchId;
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CommunityCenter.class);
+        deltas.forEach((centerId, delta) -> {
+            CenterOccupancy expected = snapshot.get(centerId);
+            bulkOperations.updateOne(occupancySnapshotGuard(expected, expected.getCurrentOccupancy() + delta),
+                    occupancyUpdate(expected.getCurrentOccupancy() + delta).set(batchKey).toValue(true));
+        });
+        int matched = bulkOperations.execute().getMatchedCount();
+
+        Set<UUID> applied;
+        if (matched == deltas.size()) {
+            applied = Set.copyOf(deltas.keySet());
+        } else {
+            Query query = new Query(Criteria.where("id").in(deltas.keySet()).and(batchKey).is(true));
+            query.fields().include("id");
+            applied = mongoTemplate.find(query, CommunityCenter.class).stream()
+                    .map(CommunityCenter::getId)
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+        if (!applied.isEmpty()) {
+            mongoTemplate.updateMulti(new Query(Criteria.where("id").in(applied)), new Update().unset(batchKey), CommunityCenter.class);
+        }
+
+        deltas.keySet().forEach(this::evictCenter);
+        return applied;
+    }
+
+    private Query resourceGuard(UUID centerId, ResourceVector delta) {
+        Criteria criteria = Criteria.where("id").is(centerId);
+        delta.forEach((type, quantity) -> {
+            // Decrementos só são aplicados se houver estoque suficiente no momento da escrita
+            if (quantity < 0) {
+                criteria.and(RESOURCE_MAP + "." + type.name()).gte(-quantity);
+            }
+        });
+        return new Query(criteria);
+    }
+
+    private Query pendingBatchQuery(UUID centerId, UUID batchId) {
+        return new Query(Criteria.where("id").is(centerId).and(PENDING_EXCHANGE_BATCHES + "." + BATCH_ID).is(batchId));
+    }
+
+    private Document pendingBatch(UUID batchId, Date startedAt, int exchanges) {
+        return new Document(BATCH_ID, batchId).append(BATCH_STARTED_AT, startedAt).append(BATCH_EXCHANGES, exchanges);
+    }
+
+    private Document quantities(ResourceVector delta) {
+        Document quantities = new Document();
+        delta.forEach((type, quantity) -> quantities.append(type.name(), quantity));
+        return quantities;
+    }
+
+    private ResourceVector resourceVector(Document quantities) {
+        return ResourceVector.of(resourceQuantities(quantities));
+    }
+
+    private Map<ResourceTypeEnum, Integer> resourceQuantities(Document quantities) {
+        Map<ResourceTypeEnum, Integer> resources = new EnumMap<>(ResourceTypeEnum.class);
+        quantities.forEach((type, quantity) -> resources.put(ResourceTypeEnum.valueOf(type), ((Number) quantity).intValue()));
+        return resources;
+    }
+
+    private Update resourceIncrement(ResourceVector delta, int sign) {
+        Update update = new Update();
+        delta.forEach((type, quantity) -> update.inc(RESOURCE_MAP + "." + type.name(), sign * quantity));
+        return update;
+    }
+
+    // Em pipeline para que a marcação guarde as quantidades de antes do delta, lidas no mesmo update atômico;
+    // um tipo ausente no centro fica ausente em "before"
+    private AggregationUpdate pendingResourceIncrement(ResourceVector delta, Document pending) {
+        Document before = new Document();
+        delta.forEach((type, quantity) -> before.append(type.name(), "$" + RESOURCE_MAP + "." + type.name()));
+        Document marked = new Document(pending).append(BATCH_BEFORE, before);
+        AggregationExpression pendingBatches = context -> new Document("$concatArrays", List.of(
+                new Document("$ifNull", List.of("$" + PENDING_EXCHANGE_BATCHES, List.of())), List.of(marked)));
+
+        AggregationUpdate update = AggregationUpdate.update().set(PENDING_EXCHANGE_BATCHES).toValue(pendingBatches);
+        delta.forEach((type, quantity) -> {
+            String field = RESOURCE_MAP + "." + type.name();
+            update.set(field).toValue(ArithmeticOperators.valueOf(ConditionalOperators.ifNull(field).then(0)).add(quantity));
+        });
+        return update;
+    }
+
+    private Query occupancyGuard(UUID centerId, int delta) {
+        ArithmeticOperators.Add newOccupancy = ArithmeticOperators.valueOf(CURRENT_OCCUPANCY).add(delta);
+
+        // A escrita só acontece se o resultado ficar entre 0 e a capacidade máxima
+        return new Query(Criteria.where("id").is(centerId)
+                .and(CURRENT_OCCUPANCY).gte(Math.max(0, -delta))
+                .andOperator(Criteria.expr(ComparisonOperators.valueOf(newOccupancy).lessThanEqualTo(MAX_CAPACITY))));
+    }
+
+    private Query occupancySnapshotGuard(CenterOccupancy expected, int newOccupancy) {
+        // Compara com a ocupação e a versão lidas antes: o valor e a versão gravados são os que o chamador vai publicar
+        return new Query(Criteria.where("id").is(expected.getId())
+                .and(CURRENT_OCCUPANCY).is(expected.getCurrentOccupancy())
+                .and(MAX_CAPACITY).gte(newOccupancy)
+                .andOperator(Criteria.expr(ComparisonOperators.valueOf(occupancyVersion())
+                        .equalToValue(expected.getOccupancyVersion()))));
+    }
+
+    private AggregationUpdate occupancyUpdate(Object newOccupancy) {
+        // Em pipeline para recalcular a razão de ocupação e o flag "full" na mesma escrita
+        return AggregationUpdate.update()
+                .set(CURRENT_OCCUPANCY).toValue(newOccupancy)
+                .set(OCCUPANCY_RATIO).toValue(ArithmeticOperators.valueOf(CURRENT_OCCUPANCY).divideBy(MAX_CAPACITY))
+                .set(FULL).toValue(ComparisonOperators.valueOf(CURRENT_OCCUPANCY).greaterThanEqualTo(MAX_CAPACITY))
+                .set(OCCUPANCY_VERSION).toValue(ArithmeticOperators.valueOf(occupancyVersion()).add(1));
+    }
+
+    // Documentos gravados antes da versão existir contam como versão 0
+    private AggregationExpression occupancyVersion() {
+        return ConditionalOperators.ifNull(OCCUPANCY_VERSION).then(0L);
+    }
+
+    private void evictCenter(UUID centerId) {
+        for (String cacheName : List.of(CacheConfig.COMMUNITY_CENTER_CACHE, CacheConfig.CENTER_OCCUPANCY_CACHE)) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.evict(centerId);
+            }
+        }
+    }
+}
@@ -2,18 +2,27 @@ package br.com.antoniolps.CommunityCenterAPI.repository;
 
 import br.com.antoniolps.CommunityCenterAPI.model.ExchangeHistory;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface ExchangeHistoryRepository extends MongoRepository<ExchangeHistory, UUID> {
+public interface ExchangeHistoryRepository extends MongoRepository<ExchangeHistory, UUID>, ExchangeHistoryRepositoryCustom {
 
-    List<ExchangeHistory> findBySourceCenterIdOrTargetCenterIdAndTimestampAfter(
-            String sourceId, String targetId, LocalDateTime fromDate
-    );
+    // Cada ramo do $or usa o seu índice composto (centro, timestamp)
+    @Query("{ '$or': [ { 'sourceCenterId': ?0, 'timestamp': { '$gt': ?1 } }, " +
+            "{ 'targetCenterId': ?0, 'timestamp': { '$gt': ?1 } } ] }")
+    List<ExchangeHistory> findByCenterIdAndTimestampAfter(String centerId, LocalDateTime fromDate);
 
     List<ExchangeHistory> findBySourceCenterIdOrTargetCenterId(String sourceId, String targetId);
+
+    Stream<ExchangeHistory> streamBySourceCenterIdOrTargetCenterId(String sourceId, String targetId);
+
+    long countByBatchId(UUID batchId);
+
+    long deleteByBatchId(UUID batchId);
 }
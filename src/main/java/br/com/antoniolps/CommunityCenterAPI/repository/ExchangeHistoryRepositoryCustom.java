@@ -0,0 +1,12 @@
+package br.com.antoniolps.CommunityCenterAPI.repository;
+
+import br.com.antoniolps.CommunityCenterAPI.model.ExchangeHistory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface ExchangeHistoryRepositoryCustom {
+
+    List<ExchangeHistory> findPageByCenterId(String centerId, LocalDateTime beforeTimestamp, UUID beforeId, int size);
+}
@@ -0,0 +1,46 @@
+package br.com.antoniolps.CommunityCenterAPI.repository;
+
+import br.com.antoniolps.CommunityCenterAPI.model.ExchangeHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class ExchangeHistoryRepositoryCustomImpl implements ExchangeHistoryRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<ExchangeHistory> findPageByCenterId(String centerId, LocalDateTime beforeTimestamp, UUID beforeId, int size) {
+        return mongoTemplate.find(pageQuery(centerId, beforeTimestamp, beforeId, size), ExchangeHistory.class);
+    }
+
+    static Query pageQuery(String centerId, LocalDateTime beforeTimestamp, UUID beforeId, int size) {
+        Query query = new Query(new Criteria().orOperator(
+                centerCriteria("sourceCenterId", centerId, beforeTimestamp, beforeId),
+                centerCriteria("targetCenterId", centerId, beforeTimestamp, beforeId)
+        ));
+        query.with(Sort.by(Sort.Direction.DESC, "timestamp", "id"));
+        query.limit(size);
+        return query;
+    }
+
+    private static Criteria centerCriteria(String field, String centerId, LocalDateTime beforeTimestamp, UUID beforeId) {
+        Criteria criteria = Criteria.where(field).is(centerId);
+        if (beforeTimestamp == null) {
+            return criteria;
+        }
+
+        // Keyset: continua a partir do último (timestamp, id) entregue, sem usar skip
+        return criteria.orOperator(
+                Criteria.where("timestamp").lt(beforeTimestamp),
+                Criteria.where("timestamp").is(beforeTimestamp).and("id").lt(beforeId)
+        );
+    }
+}
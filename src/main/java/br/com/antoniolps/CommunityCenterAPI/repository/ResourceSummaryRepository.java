@@ -0,0 +1,10 @@
+package br.com.antoniolps.CommunityCenterAPI.repository;
+
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceSummary;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ResourceSummaryRepository extends MongoRepository<ResourceSummary, ResourceTypeEnum>, ResourceSummaryRepositoryCustom {
+}
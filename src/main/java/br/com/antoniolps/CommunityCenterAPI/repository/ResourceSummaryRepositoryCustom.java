@@ -0,0 +1,14 @@
+package br.com.antoniolps.CommunityCenterAPI.repository;
+
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceSummary;
+
+import java.util.Collection;
+
+public interface ResourceSummaryRepositoryCustom {
+
+    void incrementSummaries(Collection<ResourceSummary> changes);
+
+    boolean replaceSummary(ResourceSummary summary);
+
+    boolean deleteSummary(ResourceSummary summary);
+}
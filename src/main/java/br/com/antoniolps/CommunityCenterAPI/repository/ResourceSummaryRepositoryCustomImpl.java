@@ -0,0 +1,68 @@
+package br.com.antoniolps.CommunityCenterAPI.repository;
+
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceSummary;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+
+@RequiredArgsConstructor
+public class ResourceSummaryRepositoryCustomImpl implements ResourceSummaryRepositoryCustom {
+
+    private static final String HISTOGRAM = "histogram";
+    private static final String VERSION = "version";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void incrementSummaries(Collection<ResourceSummary> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        // Um $inc com upsert por tipo de recurso; escritas concorrentes de outras instâncias se somam no servidor
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ResourceSummary.class);
+        changes.forEach(change -> {
+            Update update = new Update().inc("total", change.getTotal()).inc("centers", change.getCenters()).inc(VERSION, 1);
+            change.getHistogram().forEach((quantity, centers) -> update.inc(HISTOGRAM + "." + quantity, centers));
+            bulkOperations.upsert(new Query(Criteria.where("_id").is(change.getType().name())), update);
+        });
+        bulkOperations.execute();
+    }
+
+    @Override
+    public boolean replaceSummary(ResourceSummary summary) {
+        Update update = new Update()
+                .set("total", summary.getTotal())
+                .set("centers", summary.getCenters())
+                .set(HISTOGRAM, summary.getHistogram())
+                .set(VERSION, summary.getVersion() + 1);
+        try {
+            // Com upsert, o tipo ainda sem documento é criado; se outro $inc o criou antes, a chave duplicada recusa
+            UpdateResult result = mongoTemplate.upsert(versionGuard(summary), update, ResourceSummary.class);
+            return result.getMatchedCount() == 1 || result.getUpsertedId() != null;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean deleteSummary(ResourceSummary summary) {
+        return mongoTemplate.remove(versionGuard(summary), ResourceSummary.class).getDeletedCount() == 1;
+    }
+
+    // Documentos gravados antes do campo de versão contam como versão 0
+    private Query versionGuard(ResourceSummary summary) {
+        return new Query(Criteria.where("_id").is(summary.getType().name())
+                .andOperator(Criteria.expr(ComparisonOperators.valueOf(ConditionalOperators.ifNull(VERSION).then(0L))
+                        .equalToValue(summary.getVersion()))));
+    }
+}
@@ -1,7 +1,11 @@
 package br.com.antoniolps.CommunityCenterAPI.scheduler;
 
 import br.com.antoniolps.CommunityCenterAPI.service.CommunityCenterService;
+import br.com.antoniolps.CommunityCenterAPI.service.ExchangeService;
+import br.com.antoniolps.CommunityCenterAPI.service.ResourceSummaryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -10,9 +14,39 @@ import org.springframework.stereotype.Component;
 public class CommunityCenterScheduler {
 
     private final CommunityCenterService communityCenterService;
+    private final ResourceSummaryService resourceSummaryService;
+    private final ExchangeService exchangeService;
 
-    @Scheduled(cron = "0 0 */2 * * *")
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillLocations() {
+        communityCenterService.backfillLocations();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOccupancyFields() {
+        communityCenterService.backfillOccupancyFields();
+    }
+
+    // Na inicialização o resumo é recalculado por inteiro, o que também cria o documento na primeira execução
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${community-center.resource-summary.reconciliation-cron}")
+    public void reconcileResourceSummary() {
+        resourceSummaryService.reconcile();
+    }
+
+    // Traz para o espelho em memória os $inc feitos por outras instâncias
+    @Scheduled(fixedDelayString = "${community-center.resource-summary.refresh-ms}")
+    public void refreshResourceSummary() {
+        resourceSummaryService.refresh();
+    }
+
+    @Scheduled(cron = "${community-center.alerts.reconciliation-cron}")
     public void scheduleMaxOccupancyNotification() {
         communityCenterService.performMaxCapacityNotification();
     }
+
+    @Scheduled(cron = "${community-center.exchange.stale-batch-recovery-cron}")
+    public void revertStaleExchangeBatches() {
+        exchangeService.revertStaleBatches();
+    }
 }
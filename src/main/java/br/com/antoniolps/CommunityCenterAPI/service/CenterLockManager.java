@@ -0,0 +1,59 @@
+package br.com.antoniolps.CommunityCenterAPI.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class CenterLockManager {
+
+    private static final int MAX_STRIPES = 1 << 16;
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final Timer waitTimer;
+
+    public CenterLockManager(int stripes, MeterRegistry meterRegistry) {
+        int size = 1;
+        while (size < Math.min(stripes, MAX_STRIPES)) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+        this.waitTimer = Timer.builder("exchange.lock.wait")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public void runLocked(Collection<UUID> centerIds, Runnable work) {
+        // Travas sempre em ordem crescente de faixa: duas trocas nunca esperam uma pela outra em ciclo.
+        // Centros que caem na mesma faixa compartilham uma única trava
+        int[] indexes = centerIds.stream().mapToInt(this::stripeOf).distinct().sorted().toArray();
+
+        long start = System.nanoTime();
+        int acquired = 0;
+        try {
+            for (int index : indexes) {
+                stripes[index].lock();
+                acquired++;
+            }
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            work.run();
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                stripes[indexes[i]].unlock();
+            }
+        }
+    }
+
+    private int stripeOf(UUID centerId) {
+        int hash = centerId.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
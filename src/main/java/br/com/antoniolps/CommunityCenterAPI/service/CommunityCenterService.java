@@ -2,6 +2,11 @@ package br.com.antoniolps.CommunityCenterAPI.service;
 
 import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
 import br.com.antoniolps.CommunityCenterAPI.model.dtos.CommunityCenterRequest;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.NearbyCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.OccupancyBatchResult;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.OccupancyEvent;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.OccupancyUpdate;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ResourceStatistics;
 import br.com.antoniolps.CommunityCenterAPI.model.dtos.UpdateOccupancyRequest;
 import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
 
@@ -15,6 +20,10 @@ public interface CommunityCenterService {
 
     void updateOccupancy(String centerId, int newOccupancy);
 
+    int adjustOccupancy(String centerId, int delta);
+
+    OccupancyBatchResult ingestOccupancyEvents(List<OccupancyEvent> events);
+
     List<CommunityCenter> getAllCenters();
 
     CommunityCenter getCenterById(String centerId);
@@ -23,11 +32,26 @@ public interface CommunityCenterService {
 
     CommunityCenter listCenterWithHighestOccupancy();
 
+    List<OccupancyUpdate> getTopCenters(int k, String ranking);
+
     List<CommunityCenter> getCentersWithOccupancyGreaterThanNinetyPercent();
 
+    List<CommunityCenter> getCentersWithOccupancyRatioGreaterThan(double threshold);
+
     Map<ResourceTypeEnum, Double> getAverageResourcesPerType();
 
+    Map<ResourceTypeEnum, ResourceStatistics> getResourceStatistics();
+
+    List<NearbyCenter> findNearestCenters(double latitude, double longitude, int minFreeCapacity,
+                                          ResourceTypeEnum resource, int minQuantity, Double maxDistanceInMeters, int limit);
+
+    long backfillLocations();
+
+    long backfillOccupancyFields();
+
     void performMaxCapacityNotification();
 
     boolean isCenterFull(UUID centerId);
+
+    Map<UUID, Boolean> areCentersFull(List<UUID> centerIds);
 }
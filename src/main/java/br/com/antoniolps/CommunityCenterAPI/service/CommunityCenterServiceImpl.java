@@ -1,22 +1,56 @@
 package br.com.antoniolps.CommunityCenterAPI.service;
 
 import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.CenterOccupancyResult;
 import br.com.antoniolps.CommunityCenterAPI.model.dtos.CommunityCenterRequest;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.NearbyCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.OccupancyBatchResult;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.OccupancyEvent;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.OccupancyUpdate;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ResourceStatistics;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.OccupancyRankingEnum;
 import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import br.com.antoniolps.CommunityCenterAPI.model.projections.CenterOccupancy;
+import br.com.antoniolps.CommunityCenterAPI.notification.OccupancyChangedEvent;
 import br.com.antoniolps.CommunityCenterAPI.repository.CommunityCenterRepository;
+import br.com.antoniolps.CommunityCenterAPI.stream.CommunityCenterChangedEvent;
+import br.com.antoniolps.CommunityCenterAPI.stream.CommunityCenterStateView;
+import br.com.antoniolps.CommunityCenterAPI.stream.OccupancyLeaderboard;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "service.method", histogram = true)
 @RequiredArgsConstructor
 public class CommunityCenterServiceImpl implements CommunityCenterService {
 
+    private static final double NINETY_PERCENT = 0.9;
+    private static final int MAX_BATCH_EVENTS = 10_000;
+    private static final int MAX_TOP_CENTERS = 1000;
+    private static final int MAX_NEAREST_CENTERS = 100;
+
     private final CommunityCenterRepository communityCenterRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<CommunityCenterStateView> stateView;
+    private final OccupancyLeaderboard leaderboard;
+    private final ResourceSummaryService resourceSummaryService;
+    private final ServiceMetrics serviceMetrics;
 
     @Override
     public void addCenter(CommunityCenterRequest dto){
@@ -26,51 +60,170 @@ public class CommunityCenterServiceImpl implements CommunityCenterService {
         }
 
         CommunityCenter communityCenter = new CommunityCenter();
+        communityCenter.setId(UUID.randomUUID());
         communityCenter.setName(dto.getName());
         communityCenter.setAddress(dto.getAddress());
+        communityCenter.setLocation(new GeoJsonPoint(dto.getAddress().getLongitude(), dto.getAddress().getLatitude()));
         communityCenter.setMaxCapacity(dto.getMaxCapacity());
         communityCenter.setCurrentOccupancy(dto.getCurrentOccupancy());
+        communityCenter.setOccupancyRatio(calculateOccupancyRatio(dto.getCurrentOccupancy(), dto.getMaxCapacity()));
+        communityCenter.setFull(dto.getCurrentOccupancy() >= dto.getMaxCapacity());
         communityCenter.setResourceMap(dto.getResources());
 
         communityCenterRepository.save(communityCenter);
+        resourceSummaryService.recordCenterAdded(communityCenter.getResourceMap());
+        publishOccupancyChanged(communityCenter.getId(), communityCenter.getName(),
+                communityCenter.getCurrentOccupancy(), communityCenter.getMaxCapacity(), communityCenter.getOccupancyVersion());
+        publishCenterChanged(communityCenter.getId(), communityCenter);
     }
 
     @Override
     public void updateOccupancy(String centerId, int newOccupancy) {
-        CommunityCenter communityCenter = communityCenterRepository.findById(UUID.fromString(centerId))
-                .orElseThrow(() -> new IllegalArgumentException("Centro comunitário não encontrado"));
-
-        if (newOccupancy < 0 || newOccupancy > communityCenter.getMaxCapacity()) {
+        UUID id = UUID.fromString(centerId);
+        if (newOccupancy < 0) {
             throw new IllegalArgumentException("Ocupação inválida: deve ser entre 0 e a capacidade máxima do centro comunitário.");
         }
 
-        if(newOccupancy == communityCenter.getMaxCapacity()){
-            // Simula a notificação se o centro comunitário atingiu sua capacidade máxima
-            System.out.println("Alerta: O centro comunitário " + communityCenter.getName() + " atingiu sua capacidade máxima.");
-        }
+        // Escrita direcionada: regravar o documento inteiro desfaria trocas de recursos concorrentes
+        CommunityCenter communityCenter = communityCenterRepository.setOccupancy(id, newOccupancy)
+                .orElseThrow(() -> communityCenterRepository.existsById(id)
+                        ? new IllegalArgumentException("Ocupação inválida: deve ser entre 0 e a capacidade máxima do centro comunitário.")
+                        : new IllegalArgumentException("Centro comunitário não encontrado"));
+        serviceMetrics.occupancyWritten("update", 1);
 
-        communityCenter.setCurrentOccupancy(newOccupancy);
-        communityCenterRepository.save(communityCenter);
+        publishOccupancyChanged(communityCenter.getId(), communityCenter.getName(), newOccupancy,
+                communityCenter.getMaxCapacity(), communityCenter.getOccupancyVersion());
     }
 
     @Override
-    public void performMaxCapacityNotification() {
-        List<CommunityCenter> centers = communityCenterRepository.findByCurrentOccupancyGreaterThan(0);
+    public int adjustOccupancy(String centerId, int delta) {
+        UUID id = UUID.fromString(centerId);
+
+        CommunityCenter communityCenter = communityCenterRepository.incrementOccupancy(id, delta)
+                .orElseThrow(() -> communityCenterRepository.existsById(id)
+                        ? new IllegalArgumentException("Ocupação inválida: deve ser entre 0 e a capacidade máxima do centro comunitário.")
+                        : new IllegalArgumentException("Centro comunitário não encontrado"));
+        serviceMetrics.occupancyWritten("adjust", 1);
+
+        publishOccupancyChanged(communityCenter.getId(), communityCenter.getName(),
+                communityCenter.getCurrentOccupancy(), communityCenter.getMaxCapacity(), communityCenter.getOccupancyVersion());
+
+        return communityCenter.getCurrentOccupancy();
+    }
+
+    @Override
+    public OccupancyBatchResult ingestOccupancyEvents(List<OccupancyEvent> events) {
+        if (events == null || events.isEmpty() || events.size() > MAX_BATCH_EVENTS) {
+            throw new IllegalArgumentException("Lote de eventos inválido: deve conter entre 1 e " + MAX_BATCH_EVENTS + " eventos.");
+        }
+
+        // Agrupa os eventos por centro, preservando a ordem de chegada
+        Map<String, List<Integer>> deltasByCenter = new LinkedHashMap<>();
+        events.forEach(event -> deltasByCenter.computeIfAbsent(event.getCenterId(), key -> new ArrayList<>()).add(event.getDelta()));
 
-        // Verifica e notifica se algum centro comunitário atingiu sua capacidade máxima
-        centers.forEach(center -> {
-            if (center.getCurrentOccupancy() >= center.getMaxCapacity()) {
-                // Simula a notificação se o centro comunitário atingiu sua capacidade máxima
-                System.out.println("Alerta: O centro comunitário " + center.getName() + " atingiu sua capacidade máxima.");
+        List<UUID> ids = deltasByCenter.keySet().stream().map(this::parseCenterId).filter(Objects::nonNull).toList();
+        Map<UUID, CenterOccupancy> snapshot = communityCenterRepository.findOccupancyByIdIn(ids).stream()
+                .collect(Collectors.toMap(CenterOccupancy::getId, Function.identity()));
+
+        Map<UUID, Integer> netDeltas = new LinkedHashMap<>();
+        Map<UUID, CenterOccupancyResult> results = new LinkedHashMap<>();
+        List<CenterOccupancyResult> unknownCenters = new ArrayList<>();
+
+        deltasByCenter.forEach((centerId, deltas) -> {
+            CenterOccupancy occupancy = snapshot.get(parseCenterId(centerId));
+            if (occupancy == null) {
+                unknownCenters.add(CenterOccupancyResult.builder().centerId(centerId).rejectedEvents(deltas.size()).build());
+                return;
             }
+
+            // Eventos que levariam a ocupação para fora de [0, capacidade] são rejeitados individualmente
+            int current = occupancy.getCurrentOccupancy();
+            int rejected = 0;
+            for (int delta : deltas) {
+                int next = current + delta;
+                if (next < 0 || next > occupancy.getMaxCapacity()) {
+                    rejected++;
+                } else {
+                    current = next;
+                }
+            }
+
+            int applied = current - occupancy.getCurrentOccupancy();
+            if (applied != 0) {
+                netDeltas.put(occupancy.getId(), applied);
+            }
+            results.put(occupancy.getId(), CenterOccupancyResult.builder()
+                    .centerId(centerId)
+                    .appliedDelta(applied)
+                    .rejectedEvents(rejected)
+                    .currentOccupancy(current)
+                    .build());
+        });
+
+        // Cada escrita só vale se a ocupação e a versão ainda forem as do snapshot, então o publicado é o gravado
+        Set<UUID> applied = communityCenterRepository.bulkIncrementOccupancy(netDeltas, snapshot);
+        serviceMetrics.occupancyWritten("batch", applied.size());
+        List<UUID> unmatched = netDeltas.keySet().stream().filter(id -> !applied.contains(id)).toList();
+        if (!unmatched.isEmpty()) {
+            // O centro mudou entre a leitura e o bulkWrite e o guarda barrou a escrita: nada foi aplicado nele
+            unmatched.forEach(id -> {
+                CenterOccupancyResult result = results.get(id);
+                result.setConflicted(true);
+                result.setAppliedDelta(0);
+                result.setRejectedEvents(deltasByCenter.get(result.getCenterId()).size());
+                result.setCurrentOccupancy(null);
+            });
+            communityCenterRepository.findOccupancyByIdIn(unmatched).forEach(actual ->
+                    results.get(actual.getId()).setCurrentOccupancy(actual.getCurrentOccupancy()));
+        }
+
+        netDeltas.keySet().stream().filter(applied::contains).forEach(id -> {
+            CenterOccupancy occupancy = snapshot.get(id);
+            publishOccupancyChanged(id, occupancy.getName(), results.get(id).getCurrentOccupancy(),
+                    occupancy.getMaxCapacity(), occupancy.getOccupancyVersion() + 1);
         });
+
+        List<CenterOccupancyResult> centers = new ArrayList<>(results.values());
+        centers.addAll(unknownCenters);
+        int rejectedEvents = centers.stream().mapToInt(CenterOccupancyResult::getRejectedEvents).sum();
+
+        return OccupancyBatchResult.builder()
+                .acceptedEvents(events.size() - rejectedEvents)
+                .rejectedEvents(rejectedEvents)
+                .centers(centers)
+                .build();
+    }
+
+    @Override
+    public void performMaxCapacityNotification() {
+        // Reconciliação: os alertas saem na escrita; aqui só reenviamos os centros lotados, já deduplicados pelo listener
+        communityCenterRepository.findOccupancyByFullTrue().forEach(occupancy -> publishOccupancyChanged(
+                occupancy.getId(), occupancy.getName(), occupancy.getCurrentOccupancy(), occupancy.getMaxCapacity(),
+                occupancy.getOccupancyVersion()));
+    }
+
+    private void publishOccupancyChanged(UUID centerId, String centerName, int currentOccupancy, int maxCapacity, long occupancyVersion) {
+        eventPublisher.publishEvent(new OccupancyChangedEvent(centerId, centerName, currentOccupancy, maxCapacity, occupancyVersion));
     }
 
     @Override
     public boolean isCenterFull(UUID centerId) {
-        CommunityCenter communityCenter = communityCenterRepository.findById(centerId)
+        CenterOccupancy occupancy = communityCenterRepository.findOccupancyById(centerId)
                 .orElseThrow(() -> new IllegalArgumentException("Centro comunitário não encontrado"));
-        return communityCenter.getCurrentOccupancy() == communityCenter.getMaxCapacity();
+        return isFull(occupancy);
+    }
+
+    @Override
+    public Map<UUID, Boolean> areCentersFull(List<UUID> centerIds) {
+        // Uma única consulta $in; centros inexistentes ficam fora da resposta
+        Map<UUID, Boolean> result = new LinkedHashMap<>();
+        communityCenterRepository.findOccupancyByIdIn(centerIds)
+                .forEach(occupancy -> result.put(occupancy.getId(), isFull(occupancy)));
+        return result;
+    }
+
+    private boolean isFull(CenterOccupancy occupancy) {
+        return occupancy.getCurrentOccupancy() == occupancy.getMaxCapacity();
     }
 
     @Override
@@ -89,32 +242,115 @@ public class CommunityCenterServiceImpl implements CommunityCenterService {
         CommunityCenter communityCenter = communityCenterRepository.findById(UUID.fromString(centerId))
                 .orElseThrow(() -> new IllegalArgumentException("Centro comunitário não encontrado"));
         communityCenterRepository.delete(communityCenter);
+        resourceSummaryService.recordCenterRemoved(communityCenter.getResourceMap());
+        publishCenterChanged(communityCenter.getId(), null);
     }
 
     @Override
     public CommunityCenter listCenterWithHighestOccupancy() {
-        return communityCenterRepository.findAll().stream()
-                .max((c1, c2) -> Integer.compare(c1.getCurrentOccupancy(), c2.getCurrentOccupancy()))
-                .orElseThrow(() -> new IllegalArgumentException("Nenhum centro comunitário encontrado"));
+        // O view do change stream é mantido pelo próprio MongoDB; o ranking local não vê escritas de outras instâncias
+        CommunityCenterStateView view = readyStateView();
+        Optional<CommunityCenter> highest = view != null
+                ? view.highestOccupancy()
+                : communityCenterRepository.findCenterWithHighestOccupancy();
+
+        return highest.orElseThrow(() -> new IllegalArgumentException("Nenhum centro comunitário encontrado"));
+    }
+
+    @Override
+    public List<OccupancyUpdate> getTopCenters(int k, String ranking) {
+        if (k <= 0 || k > MAX_TOP_CENTERS) {
+            throw new IllegalArgumentException("Valor de k inválido: deve ser entre 1 e " + MAX_TOP_CENTERS + ".");
+        }
+
+        OccupancyRankingEnum rankingType;
+        try {
+            rankingType = OccupancyRankingEnum.valueOf(ranking.toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Critério de ranking inválido: use absolute ou ratio.");
+        }
+
+        return leaderboard.top(k, rankingType);
     }
 
     @Override
     public List<CommunityCenter> getCentersWithOccupancyGreaterThanNinetyPercent(){
-        List<CommunityCenter> centers = communityCenterRepository.findByCurrentOccupancyGreaterThan(0);
-        return centers.stream()
-                .filter(center -> center.getCurrentOccupancy() > center.getMaxCapacity() * 0.9)
-                .toList();
+        return getCentersWithOccupancyRatioGreaterThan(NINETY_PERCENT);
+    }
+
+    @Override
+    public List<CommunityCenter> getCentersWithOccupancyRatioGreaterThan(double threshold) {
+        if (threshold < 0 || threshold > 1) {
+            throw new IllegalArgumentException("Limite de ocupação inválido: deve ser entre 0 e 1.");
+        }
+
+        // Com change streams habilitados a resposta vem da memória; senão o filtro usa o índice da razão de ocupação
+        CommunityCenterStateView view = readyStateView();
+        return view != null
+                ? view.withOccupancyRatioGreaterThan(threshold)
+                : communityCenterRepository.findByOccupancyRatioGreaterThan(threshold);
+    }
+
+    // Com change streams o próprio stream publica a criação e a remoção, inclusive as feitas por esta instância
+    private void publishCenterChanged(UUID centerId, CommunityCenter center) {
+        if (stateView.getIfAvailable() == null) {
+            eventPublisher.publishEvent(new CommunityCenterChangedEvent(centerId, center));
+        }
+    }
+
+    private CommunityCenterStateView readyStateView() {
+        CommunityCenterStateView view = stateView.getIfAvailable();
+        return view != null && view.isReady() ? view : null;
     }
 
     @Override
     public Map<ResourceTypeEnum, Double> getAverageResourcesPerType() {
-        List<CommunityCenter> centers = communityCenterRepository.findAll();
-
-        return centers.stream()
-                .flatMap(center -> center.getResourceMap().entrySet().stream())
-                .collect(Collectors.groupingBy(
-                        Map.Entry::getKey,
-                        Collectors.averagingInt(Map.Entry::getValue)
-                ));
+        Map<ResourceTypeEnum, Double> averages = new EnumMap<>(ResourceTypeEnum.class);
+        resourceSummaryService.getStatistics().forEach((type, statistics) -> averages.put(type, statistics.getAverage()));
+        return averages;
+    }
+
+    @Override
+    public Map<ResourceTypeEnum, ResourceStatistics> getResourceStatistics() {
+        return resourceSummaryService.getStatistics();
+    }
+
+    @Override
+    public List<NearbyCenter> findNearestCenters(double latitude, double longitude, int minFreeCapacity,
+                                                 ResourceTypeEnum resource, int minQuantity, Double maxDistanceInMeters, int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordenadas inválidas: latitude deve estar entre -90 e 90 e longitude entre -180 e 180.");
+        }
+        if (minFreeCapacity < 1 || minQuantity < 1) {
+            throw new IllegalArgumentException("Filtros inválidos: vagas e quantidade mínima devem ser maiores que zero.");
+        }
+        if (limit <= 0 || limit > MAX_NEAREST_CENTERS) {
+            throw new IllegalArgumentException("Limite inválido: deve ser entre 1 e " + MAX_NEAREST_CENTERS + ".");
+        }
+
+        return communityCenterRepository.findNearestAvailable(new GeoJsonPoint(longitude, latitude),
+                minFreeCapacity, resource, minQuantity, maxDistanceInMeters, limit);
+    }
+
+    @Override
+    public long backfillLocations() {
+        return communityCenterRepository.backfillLocations();
+    }
+
+    @Override
+    public long backfillOccupancyFields() {
+        return communityCenterRepository.backfillOccupancyFields();
+    }
+
+    private UUID parseCenterId(String centerId) {
+        try {
+            return UUID.fromString(centerId);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    private double calculateOccupancyRatio(int occupancy, int maxCapacity) {
+        return maxCapacity > 0 ? (double) occupancy / maxCapacity : 0;
     }
 }
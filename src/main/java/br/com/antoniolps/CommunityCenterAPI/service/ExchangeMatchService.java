@@ -0,0 +1,12 @@
+package br.com.antoniolps.CommunityCenterAPI.service;
+
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeSuggestion;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.MatchRequest;
+
+import java.util.List;
+
+public interface ExchangeMatchService {
+
+    List<ExchangeSuggestion> findMatches(MatchRequest request);
+
+}
@@ -0,0 +1,179 @@
+package br.com.antoniolps.CommunityCenterAPI.service;
+
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeSuggestion;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.MatchRequest;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import br.com.antoniolps.CommunityCenterAPI.stream.ResourceHoldingIndex;
+import br.com.antoniolps.CommunityCenterAPI.stream.ResourceHoldingIndex.Holder;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Service
+@Timed(value = "service.method", histogram = true)
+@RequiredArgsConstructor
+public class ExchangeMatchServiceImpl implements ExchangeMatchService {
+
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int MAX_POINTS = 5000;
+    private static final double EARTH_RADIUS_METERS = 6_371_000;
+
+    private final ResourceHoldingIndex holdingIndex;
+
+    @Override
+    public List<ExchangeSuggestion> findMatches(MatchRequest request) {
+        if (request.getLimit() <= 0 || request.getLimit() > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("Limite inválido: deve ser entre 1 e " + MAX_SUGGESTIONS + ".");
+        }
+        Map<ResourceTypeEnum, Integer> needs = request.getNeeds();
+        if (needs == null || needs.isEmpty() || needs.values().stream().anyMatch(qty -> qty == null || qty <= 0)) {
+            throw new IllegalArgumentException("Necessidades inválidas: informe ao menos um recurso com quantidade positiva.");
+        }
+
+        UUID centerId = parseCenterId(request.getCenterId());
+        Holder requester = holdingIndex.find(centerId)
+                .orElseThrow(() -> new IllegalArgumentException("Centro comunitário não encontrado."));
+
+        // Soma em long: quantidades grandes estourariam o int e passariam pela checagem como valor negativo
+        long totalPoints = calculatePoints(needs);
+        if (totalPoints > MAX_POINTS) {
+            throw new IllegalArgumentException("Necessidades inválidas: o total deve ser de no máximo " + MAX_POINTS + " pontos.");
+        }
+        int points = (int) totalPoints;
+
+        Map<ResourceTypeEnum, Integer> offer = balancedOffer(availableSurplus(requester, request.getSurplus(), needs), points)
+                .orElse(null);
+        if (offer == null) {
+            return List.of();
+        }
+
+        // O índice é percorrido pelo recurso mais pedido; os demais são conferidos direto no estoque do candidato
+        Map.Entry<ResourceTypeEnum, Integer> scanned = needs.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElseThrow();
+        Stream<Holder> candidates = holdingIndex.holdersWithAtLeast(scanned.getKey(), scanned.getValue())
+                .filter(holder -> !holder.centerId().equals(centerId))
+                .filter(holder -> needs.entrySet().stream().allMatch(need -> holder.quantityOf(need.getKey()) >= need.getValue()));
+
+        GeoJsonPoint origin = requester.location();
+        if (request.isNearestFirst() && origin != null) {
+            candidates = candidates
+                    .filter(holder -> holder.location() != null)
+                    .sorted(Comparator.comparingDouble(holder -> distanceInMeters(origin, holder.location())));
+        }
+
+        return candidates
+                .limit(request.getLimit())
+                .map(holder -> ExchangeSuggestion.builder()
+                        .sourceCenterId(centerId.toString())
+                        .targetCenterId(holder.centerId().toString())
+                        .targetCenterName(holder.name())
+                        .resourcesGiven(offer)
+                        .resourcesRequested(needs)
+                        .points(points)
+                        .distanceInMeters(origin != null && holder.location() != null
+                                ? distanceInMeters(origin, holder.location()) : null)
+                        .build())
+                .toList();
+    }
+
+    private Map<ResourceTypeEnum, Integer> availableSurplus(Holder requester, Map<ResourceTypeEnum, Integer> surplus,
+                                                           Map<ResourceTypeEnum, Integer> needs) {
+        Map<ResourceTypeEnum, Integer> available = new EnumMap<>(ResourceTypeEnum.class);
+        if (surplus == null || surplus.isEmpty()) {
+            available.putAll(requester.resources());
+        } else {
+            surplus.forEach((type, qty) -> {
+                if (qty == null || qty < 0 || qty > requester.quantityOf(type)) {
+                    throw new IllegalArgumentException("Excedente inválido: o centro não possui " + qty + " de " + type + ".");
+                }
+                available.put(type, qty);
+            });
+        }
+        // Não faz sentido oferecer o mesmo tipo de recurso que o centro está pedindo
+        needs.keySet().forEach(available::remove);
+        return available;
+    }
+
+    // Mochila limitada com alvo exato: menor número de unidades que soma exatamente os pontos pedidos
+    private Optional<Map<ResourceTypeEnum, Integer>> balancedOffer(Map<ResourceTypeEnum, Integer> available, int target) {
+        List<ResourceTypeEnum> itemTypes = new ArrayList<>();
+        List<Integer> itemUnits = new ArrayList<>();
+        available.forEach((type, qty) -> {
+            // Divide cada estoque em potências de 2 para tratar como itens 0/1
+            int remaining = Math.min(qty, target / type.getPoints());
+            for (int units = 1; remaining > 0; units <<= 1) {
+                int taken = Math.min(units, remaining);
+                itemTypes.add(type);
+                itemUnits.add(taken);
+                remaining -= taken;
+            }
+        });
+
+        int[] minUnits = new int[target + 1];
+        Arrays.fill(minUnits, Integer.MAX_VALUE);
+        minUnits[0] = 0;
+        boolean[][] taken = new boolean[itemTypes.size()][target + 1];
+
+        for (int i = 0; i < itemTypes.size(); i++) {
+            int weight = itemUnits.get(i) * itemTypes.get(i).getPoints();
+            for (int sum = target; sum >= weight; sum--) {
+                int previous = minUnits[sum - weight];
+                if (previous != Integer.MAX_VALUE && previous + itemUnits.get(i) < minUnits[sum]) {
+                    minUnits[sum] = previous + itemUnits.get(i);
+                    taken[i][sum] = true;
+                }
+            }
+        }
+
+        if (minUnits[target] == Integer.MAX_VALUE) {
+            return Optional.empty();
+        }
+
+        Map<ResourceTypeEnum, Integer> offer = new EnumMap<>(ResourceTypeEnum.class);
+        int sum = target;
+        for (int i = itemTypes.size() - 1; i >= 0 && sum > 0; i--) {
+            if (taken[i][sum]) {
+                offer.merge(itemTypes.get(i), itemUnits.get(i), Integer::sum);
+                sum -= itemUnits.get(i) * itemTypes.get(i).getPoints();
+            }
+        }
+        return Optional.of(offer);
+    }
+
+    private long calculatePoints(Map<ResourceTypeEnum, Integer> resources) {
+        return resources.entrySet().stream()
+                .mapToLong(e -> (long) e.getKey().getPoints() * e.getValue())
+                .sum();
+    }
+
+    private UUID parseCenterId(String centerId) {
+        try {
+            return UUID.fromString(centerId);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Centro comunitário inválido: informe um identificador válido.");
+        }
+    }
+
+    private double distanceInMeters(GeoJsonPoint from, GeoJsonPoint to) {
+        double lat1 = Math.toRadians(from.getY());
+        double lat2 = Math.toRadians(to.getY());
+        double deltaLat = lat2 - lat1;
+        double deltaLon = Math.toRadians(to.getX() - from.getX());
+
+        double a = Math.sin(deltaLat / 2) * Math.sin(deltaLat / 2)
+                + Math.cos(lat1) * Math.cos(lat2) * Math.sin(deltaLon / 2) * Math.sin(deltaLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.sqrt(a));
+    }
+}
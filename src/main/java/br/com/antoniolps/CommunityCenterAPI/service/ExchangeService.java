@@ -1,18 +1,27 @@
 package br.com.antoniolps.CommunityCenterAPI.service;
 
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangePage;
 import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeRequest;
 import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeReturn;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ExchangeService {
 
+    int MAX_PAGE_SIZE = 500;
+
     void exchangeResources(ExchangeRequest dto);
 
+    void exchangeResourcesInBatch(List<ExchangeRequest> requests);
+
     List<ExchangeReturn> getAllExchangesByCenterAfterDate(String centerId, String date);
 
-    List<ExchangeReturn> getAllByCenterId(String centerId);
+    ExchangePage getPageByCenterId(String centerId, String cursor, int size);
+
+    Stream<ExchangeReturn> streamAllByCenterId(String centerId);
 
+    int revertStaleBatches();
 
 }
 
@@ -2,116 +2,300 @@ package br.com.antoniolps.CommunityCenterAPI.service;
 
 import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
 import br.com.antoniolps.CommunityCenterAPI.model.ExchangeHistory;
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceVector;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangePage;
 import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeRequest;
 import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeReturn;
 import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import br.com.antoniolps.CommunityCenterAPI.model.projections.PendingExchangeBatch;
 import br.com.antoniolps.CommunityCenterAPI.repository.CommunityCenterRepository;
 import br.com.antoniolps.CommunityCenterAPI.repository.ExchangeHistoryRepository;
+import br.com.antoniolps.CommunityCenterAPI.stream.ResourcesChangedEvent;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "service.method", histogram = true)
 @RequiredArgsConstructor
 public class ExchangeServiceImpl implements ExchangeService {
 
+    private static final String CURSOR_SEPARATOR = "_";
+    private static final int MAX_BATCH_EXCHANGES = 1000;
+    private static final String SINGLE = "single";
+    private static final String BATCH = "batch";
+    private static final Duration STALE_BATCH_TIMEOUT = Duration.ofMinutes(10);
+
     private final CommunityCenterRepository communityCenterRepository;
     private final ExchangeHistoryRepository exchangeHistoryRepository;
+    private final ExchangeTransactionRunner transactionRunner;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ResourceSummaryService resourceSummaryService;
+    private final ServiceMetrics serviceMetrics;
+    private final CenterLockManager centerLockManager;
 
     @Override
     public void exchangeResources(ExchangeRequest dto) {
+        UUID sourceId = UUID.fromString(dto.getSourceCenterId());
+        UUID targetId = UUID.fromString(dto.getTargetCenterId());
+
+        // Trocas que compartilham um centro são serializadas neste nó; as demais seguem em paralelo
+        centerLockManager.runLocked(List.of(sourceId, targetId), () -> exchangeLocked(dto, sourceId, targetId));
+    }
+
+    @Override
+    public void exchangeResourcesInBatch(List<ExchangeRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_EXCHANGES) {
+            throw reject(BATCH, "invalid_batch", "Lote de trocas inválido: deve conter entre 1 e " + MAX_BATCH_EXCHANGES + " trocas.");
+        }
+
+        Set<UUID> centerIds = new LinkedHashSet<>();
+        requests.forEach(dto -> {
+            centerIds.add(UUID.fromString(dto.getSourceCenterId()));
+            centerIds.add(UUID.fromString(dto.getTargetCenterId()));
+        });
+        centerLockManager.runLocked(centerIds, () -> exchangeBatchLocked(requests, centerIds));
+    }
+
+    private void exchangeLocked(ExchangeRequest dto, UUID sourceId, UUID targetId) {
+        CommunityCenter source = communityCenterRepository.findById(sourceId)
+                .orElseThrow(() -> reject(SINGLE, "source_not_found", "Centro de origem não encontrado."));
+        CommunityCenter target = communityCenterRepository.findById(targetId)
+                .orElseThrow(() -> reject(SINGLE, "target_not_found", "Centro de destino não encontrado."));
+
+        ResourceVector given = ResourceVector.of(dto.getResourcesGiven());
+        ResourceVector requested = ResourceVector.of(dto.getResourcesRequested());
+        validateExchangePoints(SINGLE, source, target, given, requested);
+
+        ResourceVector sourceDelta = requested.minus(given);
+        ResourceVector targetDelta = sourceDelta.negate();
+
+        // Estoques de antes da escrita, devolvidos pelo próprio $inc; a leitura acima pode estar defasada
+        Map<UUID, Map<ResourceTypeEnum, Integer>> previousResources = new HashMap<>();
+
+        // No modo transacional os dois deltas e o histórico são confirmados no mesmo commit
+        transactionRunner.run(() -> {
+            previousResources.clear();
+            // Dar e receber o mesmo recurso se anula; não há estoque a alterar, apenas o histórico
+            if (sourceDelta.isEmpty()) {
+                exchangeHistoryRepository.save(buildExchangeHistory(dto, given, requested, LocalDateTime.now()));
+                return;
+            }
+            // Cada lado é alterado com um $inc condicionado ao estoque, sem reescrever o documento inteiro
+            Map<ResourceTypeEnum, Integer> sourceBefore = communityCenterRepository.applyResourceDelta(sourceId, sourceDelta)
+                    .orElseThrow(() -> reject(SINGLE, "insufficient_source", "Recursos insuficientes no centro de origem."));
+            Optional<Map<ResourceTypeEnum, Integer>> targetBefore = communityCenterRepository.applyResourceDelta(targetId, targetDelta);
+            if (targetBefore.isEmpty()) {
+                if (!transactionRunner.isTransactional()) {
+                    communityCenterRepository.revertResourceDelta(sourceId, sourceDelta);
+                }
+                throw reject(SINGLE, "insufficient_target", "Recursos insuficientes no centro de destino.");
+            }
+
+            exchangeHistoryRepository.save(buildExchangeHistory(dto, given, requested, LocalDateTime.now()));
+            previousResources.put(sourceId, sourceBefore);
+            previousResources.put(targetId, targetBefore.get());
+        });
+
+        Map<UUID, ResourceVector> deltas = new LinkedHashMap<>();
+        mergeDelta(deltas, sourceId, sourceDelta);
+        mergeDelta(deltas, targetId, targetDelta);
+        serviceMetrics.exchangeSucceeded(SINGLE, 1);
+        resourceSummaryService.recordExchange(previousResources, deltas);
+        eventPublisher.publishEvent(new ResourcesChangedEvent(deltas));
+    }
+
+    private void exchangeBatchLocked(List<ExchangeRequest> requests, Set<UUID> centerIds) {
+        // Uma única leitura para todos os centros envolvidos no lote
+        Map<UUID, CommunityCenter> centers = new HashMap<>();
+        communityCenterRepository.findAllById(centerIds).forEach(center -> centers.put(center.getId(), center));
+
+        // Os deltas de todas as trocas são somados por centro e tipo de recurso
+        Map<UUID, ResourceVector> netDeltas = new LinkedHashMap<>();
+        LocalDateTime timestamp = LocalDateTime.now();
+        List<ExchangeHistory> histories = new ArrayList<>(requests.size());
+
+        for (ExchangeRequest dto : requests) {
+            UUID sourceId = UUID.fromString(dto.getSourceCenterId());
+            UUID targetId = UUID.fromString(dto.getTargetCenterId());
+
+            CommunityCenter source = Optional.ofNullable(centers.get(sourceId))
+                    .orElseThrow(() -> reject(BATCH, "source_not_found", "Centro de origem não encontrado."));
+            CommunityCenter target = Optional.ofNullable(centers.get(targetId))
+                    .orElseThrow(() -> reject(BATCH, "target_not_found", "Centro de destino não encontrado."));
+
+            ResourceVector given = ResourceVector.of(dto.getResourcesGiven());
+            ResourceVector requested = ResourceVector.of(dto.getResourcesRequested());
+            validateExchangePoints(BATCH, source, target, given, requested);
+
+            ResourceVector sourceDelta = requested.minus(given);
+            mergeDelta(netDeltas, sourceId, sourceDelta);
+            mergeDelta(netDeltas, targetId, sourceDelta.negate());
+            histories.add(buildExchangeHistory(dto, given, requested, timestamp));
+        }
+        // Centros cujas trocas se anulam no lote não precisam de escrita
+        netDeltas.values().removeIf(ResourceVector::isEmpty);
 
-        CommunityCenter source = communityCenterRepository.findById(UUID.fromString(dto.getSourceCenterId()))
-                .orElseThrow(() -> new IllegalArgumentException("Centro de origem não encontrado."));
-        CommunityCenter target = communityCenterRepository.findById(UUID.fromString(dto.getTargetCenterId()))
-                .orElseThrow(() -> new IllegalArgumentException("Centro de destino não encontrado."));
+        UUID batchId = UUID.randomUUID();
+        histories.forEach(history -> history.setBatchId(batchId));
+        Map<UUID, Map<ResourceTypeEnum, Integer>> previousResources = new HashMap<>();
+        transactionRunner.run(() -> {
+            if (!communityCenterRepository.applyResourceDeltas(netDeltas, batchId, histories.size())) {
+                throw reject(BATCH, "insufficient_resources", "Recursos insuficientes para aplicar o lote de trocas.");
+            }
+            exchangeHistoryRepository.insert(histories);
+            // A marcação só sai com o histórico gravado; uma queda antes disso é tratada por revertStaleBatches.
+            // Ela devolve os estoques de antes do lote, gravados pelo mesmo update que aplicou os deltas
+            previousResources.clear();
+            previousResources.putAll(communityCenterRepository.completeExchangeBatch(netDeltas.keySet(), batchId));
+        });
 
-        validateExchangePoints(source, target, dto.getResourcesGiven(), dto.getResourcesRequested());
-        
+        serviceMetrics.exchangeSucceeded(BATCH, requests.size());
+        resourceSummaryService.recordExchange(previousResources, netDeltas);
+        eventPublisher.publishEvent(new ResourcesChangedEvent(netDeltas));
+    }
 
-        updateResources(source, dto.getResourcesGiven(), false);
-        updateResources(source, dto.getResourcesRequested(), true);
+    // Um lote só fica marcado além do prazo se a instância caiu entre aplicar os deltas e concluir o lote
+    @Override
+    public int revertStaleBatches() {
+        Map<UUID, List<PendingExchangeBatch>> staleBatches = communityCenterRepository
+                .findStaleExchangeBatches(Instant.now().minus(STALE_BATCH_TIMEOUT)).stream()
+                .collect(Collectors.groupingBy(PendingExchangeBatch::batchId));
 
-        updateResources(target, dto.getResourcesRequested(), false);
-        updateResources(target, dto.getResourcesGiven(), true);
+        int reverted = 0;
+        for (Map.Entry<UUID, List<PendingExchangeBatch>> batch : staleBatches.entrySet()) {
+            UUID batchId = batch.getKey();
+            List<PendingExchangeBatch> centers = batch.getValue();
 
-        communityCenterRepository.save(source);
-        communityCenterRepository.save(target);
+            // Histórico completo: a queda foi depois do insertMany, então o lote vale e só falta concluir
+            if (exchangeHistoryRepository.countByBatchId(batchId) == centers.get(0).exchanges()) {
+                communityCenterRepository.completeExchangeBatch(
+                        centers.stream().map(PendingExchangeBatch::centerId).toList(), batchId);
+                continue;
+            }
 
-        saveExchangeHistory(dto.getSourceCenterId(), dto.getTargetCenterId(), dto.getResourcesGiven(), dto.getResourcesRequested());
+            // O histórico parcial sai antes dos recursos; se cair aqui, a próxima execução desfaz o resto
+            exchangeHistoryRepository.deleteByBatchId(batchId);
+            for (PendingExchangeBatch center : centers) {
+                if (communityCenterRepository.revertExchangeBatch(center.centerId(), batchId, center.delta())) {
+                    reverted++;
+                }
+            }
+        }
+        return reverted;
     }
 
     @Override
     public List<ExchangeReturn> getAllExchangesByCenterAfterDate(String centerId, String date) {
         LocalDateTime fromDate = LocalDateTime.parse(date);
-        List<ExchangeHistory> histories = exchangeHistoryRepository.findBySourceCenterIdOrTargetCenterIdAndTimestampAfter(
-                centerId, centerId, fromDate
-        );
+        List<ExchangeHistory> histories = exchangeHistoryRepository.findByCenterIdAndTimestampAfter(centerId, fromDate);
 
-        return histories.stream().map(history -> ExchangeReturn.builder()
+        return histories.stream().map(this::toExchangeReturn).toList();
+    }
+
+    @Override
+    public ExchangePage getPageByCenterId(String centerId, String cursor, int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Tamanho de página inválido: deve ser entre 1 e " + MAX_PAGE_SIZE + ".");
+        }
+
+        PageCursor after = cursor == null || cursor.isBlank() ? new PageCursor(null, null) : decodeCursor(cursor);
+
+        // Busca um item a mais para saber se existe próxima página
+        List<ExchangeHistory> histories = exchangeHistoryRepository.findPageByCenterId(
+                centerId, after.timestamp(), after.id(), size + 1);
+        boolean hasNext = histories.size() > size;
+        List<ExchangeHistory> page = hasNext ? histories.subList(0, size) : histories;
+
+        return ExchangePage.builder()
+                .content(page.stream().map(this::toExchangeReturn).toList())
+                .next(hasNext ? encodeCursor(page.get(page.size() - 1)) : null)
+                .build();
+    }
+
+    @Override
+    public Stream<ExchangeReturn> streamAllByCenterId(String centerId) {
+        return exchangeHistoryRepository.streamBySourceCenterIdOrTargetCenterId(centerId, centerId)
+                .map(this::toExchangeReturn);
+    }
+
+    private ExchangeReturn toExchangeReturn(ExchangeHistory history) {
+        return ExchangeReturn.builder()
                 .sourceCenterId(history.getSourceCenterId())
                 .targetCenterId(history.getTargetCenterId())
                 .resourcesGiven(history.getResourcesGiven())
                 .resourcesReceived(history.getResourcesReceived())
-                .build()).toList();
+                .build();
     }
 
-    @Override
-    public List<ExchangeReturn> getAllByCenterId(String centerId) {
-        return exchangeHistoryRepository.findBySourceCenterIdOrTargetCenterId(centerId, centerId)
-                .stream()
-                .map(history -> ExchangeReturn.builder()
-                        .sourceCenterId(history.getSourceCenterId())
-                        .targetCenterId(history.getTargetCenterId())
-                        .resourcesGiven(history.getResourcesGiven())
-                        .resourcesReceived(history.getResourcesReceived())
-                        .build())
-                .toList();
+    private String encodeCursor(ExchangeHistory last) {
+        String value = last.getTimestamp() + CURSOR_SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private PageCursor decodeCursor(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = value.split(CURSOR_SEPARATOR);
+            return new PageCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido.");
+        }
+    }
+
+    private record PageCursor(LocalDateTime timestamp, UUID id) {
     }
 
 
-    private void validateExchangePoints(CommunityCenter source, CommunityCenter target,
-                                        Map<ResourceTypeEnum, Integer> given,
-                                        Map<ResourceTypeEnum, Integer> requested) {
-        int pointsGiven = calculatePoints(given);
-        int pointsRequested = calculatePoints(requested);
+    private void validateExchangePoints(String mode, CommunityCenter source, CommunityCenter target,
+                                        ResourceVector given, ResourceVector requested) {
+        int pointsGiven = given.points();
+        int pointsRequested = requested.points();
 
         if (source.getCurrentOccupancy() > (source.getMaxCapacity() * 0.9)) {
             return;
         }
         if (pointsGiven != pointsRequested) {
-            throw new IllegalArgumentException("A troca deve ser equilibrada em pontos.");
+            throw reject(mode, "unbalanced_points", "A troca deve ser equilibrada em pontos.");
         }
     }
 
-    private int calculatePoints(Map<ResourceTypeEnum, Integer> resources) {
-        return resources.entrySet().stream()
-                .mapToInt(e -> e.getKey().getPoints() * e.getValue())
-                .sum();
+    private IllegalArgumentException reject(String mode, String reason, String message) {
+        serviceMetrics.exchangeRejected(mode, reason);
+        return new IllegalArgumentException(message);
     }
 
-    private void updateResources(CommunityCenter center, Map<ResourceTypeEnum, Integer> resources, boolean add) {
-        resources.forEach((type, qty) -> {
-            center.getResourceMap().putIfAbsent(type, 0);
-            center.getResourceMap().compute(type, (k, current) -> add ? current + qty : current - qty);
-        });
+    private void mergeDelta(Map<UUID, ResourceVector> netDeltas, UUID centerId, ResourceVector delta) {
+        netDeltas.merge(centerId, delta, ResourceVector::plus);
     }
 
-    private void saveExchangeHistory(String sourceCenterId, String targetCenterId,
-                                     Map<ResourceTypeEnum, Integer> resourcesGiven,
-                                     Map<ResourceTypeEnum, Integer> resourcesRequested) {
-        ExchangeHistory history = ExchangeHistory.builder()
+    private ExchangeHistory buildExchangeHistory(ExchangeRequest dto, ResourceVector given, ResourceVector requested,
+                                                 LocalDateTime timestamp) {
+        return ExchangeHistory.builder()
                 .id(UUID.randomUUID())
-                .sourceCenterId(sourceCenterId)
-                .targetCenterId(targetCenterId)
-                .resourcesGiven(resourcesGiven)
-                .resourcesReceived(resourcesRequested)
-                .timestamp(LocalDateTime.now())
+                .sourceCenterId(dto.getSourceCenterId())
+                .targetCenterId(dto.getTargetCenterId())
+                .resourcesGiven(given)
+                .resourcesReceived(requested)
+                .timestamp(timestamp)
                 .build();
-        exchangeHistoryRepository.save(history);
     }
 }
\ No newline at end of file
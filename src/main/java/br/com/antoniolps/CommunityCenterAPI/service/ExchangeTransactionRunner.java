@@ -0,0 +1,63 @@
+package br.com.antoniolps.CommunityCenterAPI.service;
+
+import com.mongodb.MongoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class ExchangeTransactionRunner {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Timer executionTimer;
+    private final Counter retryCounter;
+
+    public ExchangeTransactionRunner(TransactionTemplate transactionTemplate, MeterRegistry meterRegistry, int maxAttempts) {
+        this.transactionTemplate = transactionTemplate;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.executionTimer = Timer.builder("exchange.execution")
+                .tag("mode", isTransactional() ? "transactional" : "direct")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("exchange.transaction.retries")
+                .register(meterRegistry);
+    }
+
+    public boolean isTransactional() {
+        return transactionTemplate != null;
+    }
+
+    public void run(Runnable work) {
+        if (!isTransactional()) {
+            executionTimer.record(work);
+            return;
+        }
+        executionTimer.record(() -> runInTransaction(work));
+    }
+
+    private void runInTransaction(Runnable work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> work.run());
+                return;
+            } catch (DataAccessException e) {
+                // Conflitos de escrita entre transações são marcados pelo servidor como transitórios
+                if (attempt >= maxAttempts || !isTransientTransactionError(e)) {
+                    throw e;
+                }
+                retryCounter.increment();
+            }
+        }
+    }
+
+    private boolean isTransientTransactionError(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongoException
+                    && mongoException.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
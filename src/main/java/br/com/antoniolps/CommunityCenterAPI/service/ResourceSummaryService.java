@@ -0,0 +1,24 @@
+package br.com.antoniolps.CommunityCenterAPI.service;
+
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceVector;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ResourceStatistics;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+
+import java.util.Map;
+import java.util.UUID;
+
+public interface ResourceSummaryService {
+
+    Map<ResourceTypeEnum, ResourceStatistics> getStatistics();
+
+    void recordCenterAdded(Map<ResourceTypeEnum, Integer> resources);
+
+    void recordCenterRemoved(Map<ResourceTypeEnum, Integer> resources);
+
+    void recordExchange(Map<UUID, Map<ResourceTypeEnum, Integer>> previousResources,
+                        Map<UUID, ResourceVector> deltas);
+
+    void refresh();
+
+    boolean reconcile();
+}
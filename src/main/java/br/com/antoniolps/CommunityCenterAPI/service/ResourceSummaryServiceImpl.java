@@ -0,0 +1,195 @@
+package br.com.antoniolps.CommunityCenterAPI.service;
+
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceSummary;
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceVector;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ResourceStatistics;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import br.com.antoniolps.CommunityCenterAPI.repository.CommunityCenterRepository;
+import br.com.antoniolps.CommunityCenterAPI.repository.ResourceSummaryRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Service
+@Timed(value = "service.method", histogram = true)
+@RequiredArgsConstructor
+public class ResourceSummaryServiceImpl implements ResourceSummaryService {
+
+    private final ResourceSummaryRepository resourceSummaryRepository;
+    private final CommunityCenterRepository communityCenterRepository;
+
+    // Espelho do documento de resumo; as leituras não consultam o banco
+    private final Map<ResourceTypeEnum, ResourceSummary> mirror = new EnumMap<>(ResourceTypeEnum.class);
+
+    @Override
+    public synchronized Map<ResourceTypeEnum, ResourceStatistics> getStatistics() {
+        Map<ResourceTypeEnum, ResourceStatistics> statistics = new EnumMap<>(ResourceTypeEnum.class);
+        mirror.forEach((type, summary) -> {
+            if (summary.getCenters() <= 0) {
+                return;
+            }
+            TreeMap<Integer, Integer> histogram = (TreeMap<Integer, Integer>) summary.getHistogram();
+            statistics.put(type, ResourceStatistics.builder()
+                    .total(summary.getTotal())
+                    .centers(summary.getCenters())
+                    .average((double) summary.getTotal() / summary.getCenters())
+                    .min(histogram.isEmpty() ? null : histogram.firstKey())
+                    .max(histogram.isEmpty() ? null : histogram.lastKey())
+                    .build());
+        });
+        return statistics;
+    }
+
+    @Override
+    public void recordCenterAdded(Map<ResourceTypeEnum, Integer> resources) {
+        Map<ResourceTypeEnum, ResourceSummary> changes = new EnumMap<>(ResourceTypeEnum.class);
+        diff(Map.of(), resources == null ? Map.of() : resources, changes);
+        apply(changes.values());
+    }
+
+    @Override
+    public void recordCenterRemoved(Map<ResourceTypeEnum, Integer> resources) {
+        Map<ResourceTypeEnum, ResourceSummary> changes = new EnumMap<>(ResourceTypeEnum.class);
+        diff(resources == null ? Map.of() : resources, Map.of(), changes);
+        apply(changes.values());
+    }
+
+    @Override
+    public void recordExchange(Map<UUID, Map<ResourceTypeEnum, Integer>> previousResources,
+                               Map<UUID, ResourceVector> deltas) {
+        // Trocas não alteram o total de cada tipo, mas mudam o histograma e podem criar o tipo no centro que recebe
+        Map<ResourceTypeEnum, ResourceSummary> changes = new EnumMap<>(ResourceTypeEnum.class);
+        deltas.forEach((centerId, delta) -> {
+            Map<ResourceTypeEnum, Integer> before = previousResources.getOrDefault(centerId, Map.of());
+            Map<ResourceTypeEnum, Integer> after = new EnumMap<>(ResourceTypeEnum.class);
+            after.putAll(before);
+            delta.forEach((type, quantity) -> after.merge(type, quantity, Integer::sum));
+            diff(before, after, changes);
+        });
+        apply(changes.values());
+    }
+
+    @Override
+    public void refresh() {
+        replaceMirror(resourceSummaryRepository.findAll());
+    }
+
+    @Override
+    public boolean reconcile() {
+        List<ResourceSummary> stored = resourceSummaryRepository.findAll();
+        List<ResourceSummary> recomputed = communityCenterRepository.summarizeResources();
+
+        if (normalize(stored).equals(normalize(recomputed))) {
+            replaceMirror(stored);
+            return false;
+        }
+
+        // Cada tipo só é regravado se a versão lida antes do recálculo não mudou: um $inc concorrente não se perde,
+        // e o tipo que perder a corrida fica para a próxima execução
+        Map<ResourceTypeEnum, Long> versions = new EnumMap<>(ResourceTypeEnum.class);
+        stored.forEach(summary -> versions.put(summary.getType(), summary.getVersion()));
+        boolean rewritten = true;
+        for (ResourceSummary summary : recomputed) {
+            summary.setVersion(versions.getOrDefault(summary.getType(), 0L));
+            rewritten &= resourceSummaryRepository.replaceSummary(summary);
+            versions.remove(summary.getType());
+        }
+        for (ResourceSummary summary : stored) {
+            if (versions.containsKey(summary.getType())) {
+                rewritten &= resourceSummaryRepository.deleteSummary(summary);
+            }
+        }
+
+        if (rewritten) {
+            replaceMirror(recomputed);
+        } else {
+            refresh();
+        }
+        return rewritten;
+    }
+
+    private void diff(Map<ResourceTypeEnum, Integer> before, Map<ResourceTypeEnum, Integer> after,
+                      Map<ResourceTypeEnum, ResourceSummary> changes) {
+        Set<ResourceTypeEnum> types = EnumSet.noneOf(ResourceTypeEnum.class);
+        types.addAll(before.keySet());
+        types.addAll(after.keySet());
+
+        for (ResourceTypeEnum type : types) {
+            Integer previous = before.get(type);
+            Integer current = after.get(type);
+            if (Objects.equals(previous, current)) {
+                continue;
+            }
+
+            ResourceSummary change = changes.computeIfAbsent(type, this::emptySummary);
+            if (previous != null) {
+                change.setTotal(change.getTotal() - previous);
+                change.setCenters(change.getCenters() - 1);
+                change.getHistogram().merge(previous, -1, Integer::sum);
+            }
+            if (current != null) {
+                change.setTotal(change.getTotal() + current);
+                change.setCenters(change.getCenters() + 1);
+                change.getHistogram().merge(current, 1, Integer::sum);
+            }
+            change.getHistogram().values().removeIf(centers -> centers == 0);
+        }
+    }
+
+    private void apply(Collection<ResourceSummary> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        resourceSummaryRepository.incrementSummaries(changes);
+        synchronized (this) {
+            changes.forEach(change -> {
+                ResourceSummary summary = mirror.computeIfAbsent(change.getType(), this::emptySummary);
+                summary.setTotal(summary.getTotal() + change.getTotal());
+                summary.setCenters(summary.getCenters() + change.getCenters());
+                change.getHistogram().forEach((quantity, centers) -> summary.getHistogram().merge(quantity, centers, Integer::sum));
+                summary.getHistogram().values().removeIf(centers -> centers <= 0);
+            });
+        }
+    }
+
+    private synchronized void replaceMirror(Collection<ResourceSummary> summaries) {
+        mirror.clear();
+        mirror.putAll(normalize(summaries));
+    }
+
+    private Map<ResourceTypeEnum, ResourceSummary> normalize(Collection<ResourceSummary> summaries) {
+        // Entradas zeradas do histograma sobram dos $inc e são ignoradas na comparação e no espelho
+        Map<ResourceTypeEnum, ResourceSummary> normalized = new EnumMap<>(ResourceTypeEnum.class);
+        summaries.forEach(summary -> {
+            ResourceSummary copy = emptySummary(summary.getType());
+            copy.setTotal(summary.getTotal());
+            copy.setCenters(summary.getCenters());
+            if (summary.getHistogram() != null) {
+                summary.getHistogram().forEach((quantity, centers) -> {
+                    if (centers > 0) {
+                        copy.getHistogram().put(quantity, centers);
+                    }
+                });
+            }
+            if (copy.getCenters() != 0 || copy.getTotal() != 0 || !copy.getHistogram().isEmpty()) {
+                normalized.put(copy.getType(), copy);
+            }
+        });
+        return normalized;
+    }
+
+    private ResourceSummary emptySummary(ResourceTypeEnum type) {
+        return ResourceSummary.builder().type(type).histogram(new TreeMap<>()).build();
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.antoniolps.CommunityCenterAPI.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ServiceMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> exchangeCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> occupancyWriteCounters = new ConcurrentHashMap<>();
+
+    public ServiceMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void exchangeSucceeded(String mode, int exchanges) {
+        exchangeCounter("success", "none", mode).increment(exchanges);
+    }
+
+    public void exchangeRejected(String mode, String reason) {
+        exchangeCounter("rejected", reason, mode).increment();
+    }
+
+    public void occupancyWritten(String operation, int centers) {
+        occupancyWriteCounters.computeIfAbsent(operation, key -> Counter.builder("occupancy.writes")
+                        .tag("operation", key)
+                        .register(meterRegistry))
+                .increment(centers);
+    }
+
+    // Os motivos são um conjunto fixo, então o cache não cresce com o tráfego
+    private Counter exchangeCounter(String outcome, String reason, String mode) {
+        return exchangeCounters.computeIfAbsent(outcome + ":" + reason + ":" + mode, key -> Counter.builder("exchange.results")
+                .tag("outcome", outcome)
+                .tag("reason", reason)
+                .tag("mode", mode)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.antoniolps.CommunityCenterAPI.stream;
+
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import lombok.RequiredArgsConstructor;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.bson.UuidRepresentation;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest.ChangeStreamRequestOptions;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListener;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class CommunityCenterChangeStreamListener implements SmartLifecycle {
+
+    private static final String CENTER_STREAM = "communityCenter";
+
+    private final MongoTemplate mongoTemplate;
+    private final CommunityCenterStateView stateView;
+    private final ResumeTokenStore resumeTokenStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UuidRepresentation uuidRepresentation;
+
+    private MessageListenerContainer container;
+
+    @Override
+    public void start() {
+        // O instante é lido antes da carga inicial para que nenhuma alteração fique entre a carga e o stream
+        BsonTimestamp startTime = mongoTemplate.executeCommand(new Document("hello", 1))
+                .get("operationTime", BsonTimestamp.class);
+        stateView.load(mongoTemplate.findAll(CommunityCenter.class));
+
+        container = new DefaultMessageListenerContainer(mongoTemplate);
+        container.register(request(CommunityCenter.class, CENTER_STREAM, startTime, this::onCenterChanged,
+                ChangeStreamOptions.builder().fullDocumentLookup(FullDocument.UPDATE_LOOKUP)), CommunityCenter.class);
+        container.start();
+    }
+
+    @Override
+    public void stop() {
+        if (container != null) {
+            container.stop();
+        }
+        resumeTokenStore.flush();
+        stateView.reset();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return container != null && container.isRunning();
+    }
+
+    private <T> ChangeStreamRequest<T> request(Class<T> type, String stream, BsonTimestamp startTime,
+                                               MessageListener<ChangeStreamDocument<Document>, T> listener,
+                                               ChangeStreamOptions.ChangeStreamOptionsBuilder options) {
+        // Retoma do último token salvo; sem token, começa no instante da carga inicial
+        resumeTokenStore.find(stream).ifPresentOrElse(options::resumeToken, () -> options.resumeAt(startTime));
+
+        return new ChangeStreamRequest<>(listener, new ChangeStreamRequestOptions(
+                null, mongoTemplate.getCollectionName(type), options.build()));
+    }
+
+    private void onCenterChanged(Message<ChangeStreamDocument<Document>, CommunityCenter> message) {
+        ChangeStreamDocument<Document> change = message.getRaw();
+
+        if (change.getOperationType() == OperationType.DELETE) {
+            UUID centerId = change.getDocumentKey().getBinary("_id").asUuid(uuidRepresentation);
+            stateView.remove(centerId);
+            eventPublisher.publishEvent(new CommunityCenterChangedEvent(centerId, null));
+        } else if (message.getBody() != null) {
+            CommunityCenter center = message.getBody();
+            stateView.upsert(center);
+            eventPublisher.publishEvent(new CommunityCenterChangedEvent(center.getId(), center));
+        }
+
+        saveResumeToken(CENTER_STREAM, change);
+    }
+
+    private void saveResumeToken(String stream, ChangeStreamDocument<Document> change) {
+        BsonDocument token = change.getResumeToken();
+        if (token != null) {
+            resumeTokenStore.save(stream, token);
+        }
+    }
+}
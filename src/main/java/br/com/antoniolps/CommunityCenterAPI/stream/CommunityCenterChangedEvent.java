@@ -0,0 +1,9 @@
+package br.com.antoniolps.CommunityCenterAPI.stream;
+
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+
+import java.util.UUID;
+
+// center é nulo quando o documento foi removido
+public record CommunityCenterChangedEvent(UUID centerId, CommunityCenter center) {
+}
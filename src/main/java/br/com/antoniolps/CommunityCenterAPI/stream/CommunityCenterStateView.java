@@ -0,0 +1,105 @@
+package br.com.antoniolps.CommunityCenterAPI.stream;
+
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+public class CommunityCenterStateView {
+
+    private static final Comparator<CommunityCenter> BY_OCCUPANCY = Comparator
+            .comparingInt(CommunityCenter::getCurrentOccupancy).reversed()
+            .thenComparing(CommunityCenter::getId);
+
+    private static final Comparator<CommunityCenter> BY_RATIO = Comparator
+            .comparingDouble(CommunityCenterStateView::occupancyRatio).reversed()
+            .thenComparing(CommunityCenter::getId);
+
+    private final Map<UUID, CommunityCenter> centers = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<CommunityCenter> byOccupancy = new ConcurrentSkipListSet<>(BY_OCCUPANCY);
+    private final ConcurrentSkipListSet<CommunityCenter> byRatio = new ConcurrentSkipListSet<>(BY_RATIO);
+    private final Map<ResourceTypeEnum, Long> resourceTotals = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    // Escritas vêm apenas da thread do change stream (ou do carregamento inicial); leituras são livres
+    public synchronized void load(Collection<CommunityCenter> snapshot) {
+        centers.clear();
+        byOccupancy.clear();
+        byRatio.clear();
+        resourceTotals.clear();
+        snapshot.forEach(this::upsert);
+        ready = true;
+    }
+
+    public synchronized void upsert(CommunityCenter center) {
+        remove(center.getId());
+
+        centers.put(center.getId(), center);
+        byOccupancy.add(center);
+        byRatio.add(center);
+        addResources(center, 1);
+    }
+
+    public synchronized void remove(UUID centerId) {
+        CommunityCenter previous = centers.remove(centerId);
+        if (previous != null) {
+            byOccupancy.remove(previous);
+            byRatio.remove(previous);
+            addResources(previous, -1);
+        }
+    }
+
+    public void reset() {
+        ready = false;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Optional<CommunityCenter> highestOccupancy() {
+        return Optional.ofNullable(byOccupancy.isEmpty() ? null : byOccupancy.first());
+    }
+
+    public List<CommunityCenter> withOccupancyRatioGreaterThan(double threshold) {
+        // Percorre só o início do conjunto ordenado: O(k) para k centros acima do limite
+        List<CommunityCenter> result = new ArrayList<>();
+        for (CommunityCenter center : byRatio) {
+            if (occupancyRatio(center) <= threshold) {
+                break;
+            }
+            result.add(center);
+        }
+        return result;
+    }
+
+    public Map<ResourceTypeEnum, Long> resourceTotals() {
+        Map<ResourceTypeEnum, Long> totals = new EnumMap<>(ResourceTypeEnum.class);
+        totals.putAll(resourceTotals);
+        return totals;
+    }
+
+    public int size() {
+        return centers.size();
+    }
+
+    private void addResources(CommunityCenter center, int sign) {
+        if (center.getResourceMap() != null) {
+            center.getResourceMap().forEach((type, quantity) -> resourceTotals.merge(type, (long) sign * quantity, Long::sum));
+        }
+    }
+
+    private static double occupancyRatio(CommunityCenter center) {
+        return center.getMaxCapacity() > 0 ? (double) center.getCurrentOccupancy() / center.getMaxCapacity() : 0;
+    }
+}
@@ -0,0 +1,156 @@
+package br.com.antoniolps.CommunityCenterAPI.stream;
+
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.OccupancyUpdate;
+import br.com.antoniolps.CommunityCenterAPI.notification.OccupancyChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class OccupancyBroadcaster {
+
+    private static final long EMITTER_TIMEOUT = Duration.ofMinutes(30).toMillis();
+
+    private final int clientBufferSize;
+    private final Executor senderExecutor;
+    private final Counter droppedClients;
+
+    // Só o valor mais recente de cada centro é mantido entre dois envios
+    private final Map<UUID, OccupancyUpdate> pendingUpdates = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // O pool é do broadcaster: exposto como bean, faria o Spring Boot abrir mão do applicationTaskExecutor
+    public OccupancyBroadcaster(int clientBufferSize, int senderThreads, MeterRegistry meterRegistry) {
+        this(clientBufferSize, Executors.newFixedThreadPool(Math.max(1, senderThreads)), meterRegistry);
+    }
+
+    OccupancyBroadcaster(int clientBufferSize, Executor senderExecutor, MeterRegistry meterRegistry) {
+        this.clientBufferSize = Math.max(1, clientBufferSize);
+        this.senderExecutor = senderExecutor;
+        this.droppedClients = Counter.builder("occupancy.stream.dropped.clients").register(meterRegistry);
+        meterRegistry.gauge("occupancy.stream.subscribers", subscribers, Set::size);
+    }
+
+    public SseEmitter subscribe(UUID centerId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT);
+        Subscriber subscriber = new Subscriber(emitter, centerId, new ArrayBlockingQueue<>(clientBufferSize));
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    public void shutdown() {
+        if (senderExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @EventListener
+    public void onOccupancyChanged(OccupancyChangedEvent event) {
+        pendingUpdates.put(event.centerId(), OccupancyUpdate.builder()
+                .centerId(event.centerId())
+                .name(event.centerName())
+                .currentOccupancy(event.currentOccupancy())
+                .maxCapacity(event.maxCapacity())
+                .build());
+    }
+
+    @EventListener
+    public void onCommunityCenterChanged(CommunityCenterChangedEvent event) {
+        // Alterações feitas por outras instâncias chegam pelo change stream, quando habilitado
+        if (event.center() != null) {
+            onOccupancyChanged(new OccupancyChangedEvent(event.centerId(), event.center().getName(),
+                    event.center().getCurrentOccupancy(), event.center().getMaxCapacity(), event.center().getOccupancyVersion()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${community-center.occupancy-stream.min-interval-ms}")
+    public void flush() {
+        List<OccupancyUpdate> updates = new ArrayList<>(pendingUpdates.size());
+        pendingUpdates.keySet().forEach(centerId -> {
+            OccupancyUpdate update = pendingUpdates.remove(centerId);
+            if (update != null) {
+                updates.add(update);
+            }
+        });
+        if (updates.isEmpty() || subscribers.isEmpty()) {
+            return;
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            for (OccupancyUpdate update : updates) {
+                if (subscriber.accepts(update) && !subscriber.queue().offer(update)) {
+                    // Cliente lento: o buffer encheu, então ele é desconectado em vez de segurar memória
+                    drop(subscriber);
+                    break;
+                }
+            }
+            send(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        if (subscriber.queue().isEmpty() || !subscriber.sending().compareAndSet(false, true)) {
+            return;
+        }
+
+        senderExecutor.execute(() -> {
+            try {
+                OccupancyUpdate update;
+                while ((update = subscriber.queue().poll()) != null) {
+                    subscriber.emitter().send(SseEmitter.event().name("occupancy").data(update));
+                }
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(subscriber);
+            } finally {
+                subscriber.sending().set(false);
+            }
+
+            if (subscribers.contains(subscriber)) {
+                send(subscriber);
+            }
+        });
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            droppedClients.increment();
+            subscriber.queue().clear();
+            subscriber.emitter().complete();
+        }
+    }
+
+    private record Subscriber(SseEmitter emitter, UUID centerId, BlockingQueue<OccupancyUpdate> queue, AtomicBoolean sending) {
+
+        Subscriber(SseEmitter emitter, UUID centerId, BlockingQueue<OccupancyUpdate> queue) {
+            this(emitter, centerId, queue, new AtomicBoolean());
+        }
+
+        boolean accepts(OccupancyUpdate update) {
+            return centerId == null || centerId.equals(update.getCenterId());
+        }
+    }
+}
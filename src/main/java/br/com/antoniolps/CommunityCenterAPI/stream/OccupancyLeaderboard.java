@@ -0,0 +1,155 @@
+package br.com.antoniolps.CommunityCenterAPI.stream;
+
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.OccupancyUpdate;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.OccupancyRankingEnum;
+import br.com.antoniolps.CommunityCenterAPI.model.projections.CenterOccupancy;
+import br.com.antoniolps.CommunityCenterAPI.notification.OccupancyChangedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Supplier;
+
+public class OccupancyLeaderboard {
+
+    private static final Comparator<Entry> BY_ABSOLUTE = Comparator
+            .comparingInt(Entry::currentOccupancy).reversed()
+            .thenComparing(Entry::centerId);
+
+    private static final Comparator<Entry> BY_RATIO = Comparator
+            .comparingDouble(Entry::ratio).reversed()
+            .thenComparing(Entry::centerId);
+
+    private final Supplier<? extends Collection<? extends CenterOccupancy>> loader;
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    // Centros removidos desde a última carga: um evento atrasado não os traz de volta
+    private final Set<UUID> removed = new HashSet<>();
+    private final ConcurrentSkipListSet<Entry> byAbsolute = new ConcurrentSkipListSet<>(BY_ABSOLUTE);
+    private final ConcurrentSkipListSet<Entry> byRatio = new ConcurrentSkipListSet<>(BY_RATIO);
+
+    // Alterações que chegam durante a carga são reaplicadas sobre o snapshot, que pode ter sido lido antes delas
+    private List<Runnable> changesDuringLoad;
+
+    private volatile boolean ready;
+
+    public OccupancyLeaderboard(Supplier<? extends Collection<? extends CenterOccupancy>> loader) {
+        this.loader = loader;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        // Carga inicial com a projeção de ocupação; daqui em diante o ranking é mantido pelos eventos de escrita
+        synchronized (this) {
+            changesDuringLoad = new ArrayList<>();
+        }
+        try {
+            Collection<? extends CenterOccupancy> occupancies = loader.get();
+            synchronized (this) {
+                entries.clear();
+                byAbsolute.clear();
+                byRatio.clear();
+                removed.clear();
+                occupancies.forEach(occupancy -> put(occupancy.getId(), occupancy.getName(),
+                        occupancy.getCurrentOccupancy(), occupancy.getMaxCapacity(), occupancy.getOccupancyVersion()));
+                changesDuringLoad.forEach(Runnable::run);
+                ready = true;
+            }
+        } finally {
+            synchronized (this) {
+                changesDuringLoad = null;
+            }
+        }
+    }
+
+    @EventListener
+    public void onOccupancyChanged(OccupancyChangedEvent event) {
+        update(event.centerId(), event.centerName(), event.currentOccupancy(), event.maxCapacity(), event.occupancyVersion());
+    }
+
+    @EventListener
+    public void onCommunityCenterChanged(CommunityCenterChangedEvent event) {
+        if (event.center() == null) {
+            remove(event.centerId());
+        } else {
+            update(event.centerId(), event.center().getName(),
+                    event.center().getCurrentOccupancy(), event.center().getMaxCapacity(), event.center().getOccupancyVersion());
+        }
+    }
+
+    public synchronized void update(UUID centerId, String name, int currentOccupancy, int maxCapacity, long version) {
+        if (changesDuringLoad != null) {
+            changesDuringLoad.add(() -> put(centerId, name, currentOccupancy, maxCapacity, version));
+        }
+        put(centerId, name, currentOccupancy, maxCapacity, version);
+    }
+
+    public synchronized void remove(UUID centerId) {
+        if (changesDuringLoad != null) {
+            changesDuringLoad.add(() -> delete(centerId));
+        }
+        delete(centerId);
+    }
+
+    private void put(UUID centerId, String name, int currentOccupancy, int maxCapacity, long version) {
+        // Escritas locais e o change stream chegam fora de ordem: a versão do documento descarta o que é mais antigo
+        Entry current = entries.get(centerId);
+        if (removed.contains(centerId) || (current != null && current.version() > version)) {
+            return;
+        }
+        Entry entry = new Entry(centerId, name, currentOccupancy, maxCapacity, version);
+        Entry previous = entries.put(centerId, entry);
+        if (previous != null) {
+            byAbsolute.remove(previous);
+            byRatio.remove(previous);
+        }
+        byAbsolute.add(entry);
+        byRatio.add(entry);
+    }
+
+    private void delete(UUID centerId) {
+        removed.add(centerId);
+        Entry previous = entries.remove(centerId);
+        if (previous != null) {
+            byAbsolute.remove(previous);
+            byRatio.remove(previous);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<OccupancyUpdate> top(int k, OccupancyRankingEnum ranking) {
+        // Leitura sem lock: percorre só os k primeiros do conjunto ordenado
+        Iterator<Entry> iterator = (ranking == OccupancyRankingEnum.RATIO ? byRatio : byAbsolute).iterator();
+        List<OccupancyUpdate> result = new ArrayList<>(k);
+        while (result.size() < k && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            result.add(OccupancyUpdate.builder()
+                    .centerId(entry.centerId())
+                    .name(entry.name())
+                    .currentOccupancy(entry.currentOccupancy())
+                    .maxCapacity(entry.maxCapacity())
+                    .build());
+        }
+        return result;
+    }
+
+    private record Entry(UUID centerId, String name, int currentOccupancy, int maxCapacity, long version) {
+
+        double ratio() {
+            return maxCapacity > 0 ? (double) currentOccupancy / maxCapacity : 0;
+        }
+    }
+}
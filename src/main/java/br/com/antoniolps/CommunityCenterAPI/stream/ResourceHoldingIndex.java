@@ -0,0 +1,191 @@
+package br.com.antoniolps.CommunityCenterAPI.stream;
+
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceVector;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+public class ResourceHoldingIndex {
+
+    private static final Comparator<Holding> BY_QUANTITY = Comparator
+            .comparingInt(Holding::quantity).reversed()
+            .thenComparing(Holding::centerId);
+
+    private static final int MAX_RELOAD_ROUNDS = 3;
+
+    private final Supplier<? extends Collection<CommunityCenter>> loader;
+    private final Function<Collection<UUID>, ? extends Collection<CommunityCenter>> reloader;
+    private final boolean applyDeltas;
+
+    private final Map<UUID, Holder> holders = new ConcurrentHashMap<>();
+    // Índice invertido: para cada tipo, os centros que o possuem em ordem decrescente de quantidade
+    private final Map<ResourceTypeEnum, ConcurrentSkipListSet<Holding>> byResource = new EnumMap<>(ResourceTypeEnum.class);
+
+    // Centros alterados enquanto o snapshot era lido; deltas não são idempotentes, então eles são relidos em vez de reaplicados
+    private Set<UUID> changedDuringLoad;
+
+    public ResourceHoldingIndex(Supplier<? extends Collection<CommunityCenter>> loader,
+                                Function<Collection<UUID>, ? extends Collection<CommunityCenter>> reloader,
+                                boolean applyDeltas) {
+        this.loader = loader;
+        this.reloader = reloader;
+        this.applyDeltas = applyDeltas;
+        for (ResourceTypeEnum type : ResourceTypeEnum.values()) {
+            byResource.put(type, new ConcurrentSkipListSet<>(BY_QUANTITY));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (this) {
+            changedDuringLoad = new HashSet<>();
+        }
+        try {
+            Collection<CommunityCenter> centers = loader.get();
+            Set<UUID> changed;
+            synchronized (this) {
+                holders.clear();
+                byResource.values().forEach(Collection::clear);
+                centers.forEach(this::index);
+                changed = takeChangedDuringLoad();
+            }
+
+            // Cada releitura pode cruzar com novas escritas; elas entram na rodada seguinte
+            for (int round = 0; round < MAX_RELOAD_ROUNDS && !changed.isEmpty(); round++) {
+                Collection<CommunityCenter> reloaded = reloader.apply(changed);
+                synchronized (this) {
+                    changed.forEach(this::unindex);
+                    reloaded.forEach(this::index);
+                    changed = takeChangedDuringLoad();
+                }
+            }
+        } finally {
+            synchronized (this) {
+                changedDuringLoad = null;
+            }
+        }
+    }
+
+    @EventListener
+    public void onCommunityCenterChanged(CommunityCenterChangedEvent event) {
+        if (event.center() == null) {
+            remove(event.centerId());
+        } else {
+            put(event.center());
+        }
+    }
+
+    @EventListener
+    public void onResourcesChanged(ResourcesChangedEvent event) {
+        // Com change streams o documento completo chega depois pelo stream; aplicar o delta também contaria duas vezes
+        if (applyDeltas) {
+            event.deltas().forEach(this::applyDelta);
+        }
+    }
+
+    public synchronized void put(CommunityCenter center) {
+        markChanged(center.getId());
+        index(center);
+    }
+
+    public synchronized void applyDelta(UUID centerId, ResourceVector delta) {
+        markChanged(centerId);
+        Holder previous = holders.get(centerId);
+        if (previous == null) {
+            return;
+        }
+
+        Map<ResourceTypeEnum, Integer> resources = new EnumMap<>(ResourceTypeEnum.class);
+        resources.putAll(previous.resources());
+        delta.forEach((type, quantity) -> resources.merge(type, quantity, Integer::sum));
+
+        unindex(centerId);
+        index(new Holder(centerId, previous.name(), Collections.unmodifiableMap(resources), previous.location()));
+    }
+
+    public synchronized void remove(UUID centerId) {
+        markChanged(centerId);
+        unindex(centerId);
+    }
+
+    public Optional<Holder> find(UUID centerId) {
+        return Optional.ofNullable(holders.get(centerId));
+    }
+
+    public Stream<Holder> holdersWithAtLeast(ResourceTypeEnum type, int quantity) {
+        return byResource.get(type).stream()
+                .takeWhile(holding -> holding.quantity() >= quantity)
+                .map(holding -> holders.get(holding.centerId()))
+                .filter(Objects::nonNull);
+    }
+
+    public int size() {
+        return holders.size();
+    }
+
+    private void markChanged(UUID centerId) {
+        if (changedDuringLoad != null) {
+            changedDuringLoad.add(centerId);
+        }
+    }
+
+    private Set<UUID> takeChangedDuringLoad() {
+        Set<UUID> changed = changedDuringLoad;
+        changedDuringLoad = new HashSet<>();
+        return changed;
+    }
+
+    private void index(CommunityCenter center) {
+        unindex(center.getId());
+
+        Map<ResourceTypeEnum, Integer> resources = new EnumMap<>(ResourceTypeEnum.class);
+        if (center.getResourceMap() != null) {
+            resources.putAll(center.getResourceMap());
+        }
+        index(new Holder(center.getId(), center.getName(), Collections.unmodifiableMap(resources), center.getLocation()));
+    }
+
+    private void index(Holder holder) {
+        holders.put(holder.centerId(), holder);
+        holder.resources().forEach((type, quantity) -> {
+            if (quantity > 0) {
+                byResource.get(type).add(new Holding(holder.centerId(), quantity));
+            }
+        });
+    }
+
+    private void unindex(UUID centerId) {
+        Holder previous = holders.remove(centerId);
+        if (previous != null) {
+            previous.resources().forEach((type, quantity) -> byResource.get(type).remove(new Holding(centerId, quantity)));
+        }
+    }
+
+    public record Holder(UUID centerId, String name, Map<ResourceTypeEnum, Integer> resources, GeoJsonPoint location) {
+
+        public int quantityOf(ResourceTypeEnum type) {
+            return resources.getOrDefault(type, 0);
+        }
+    }
+
+    private record Holding(UUID centerId, int quantity) {
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.antoniolps.CommunityCenterAPI.stream;
+
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceVector;
+
+import java.util.Map;
+import java.util.UUID;
+
+// Deltas de recursos já confirmados no MongoDB, por centro
+public record ResourcesChangedEvent(Map<UUID, ResourceVector> deltas) {
+}
@@ -0,0 +1,68 @@
+package br.com.antoniolps.CommunityCenterAPI.stream;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+@RequiredArgsConstructor
+public class ResumeTokenStore {
+
+    private static final String COLLECTION = "change_stream_tokens";
+    private static final Duration FLUSH_INTERVAL = Duration.ofSeconds(1);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final Map<String, BsonDocument> pendingTokens = new ConcurrentHashMap<>();
+    private final Map<String, Instant> lastFlushes = new ConcurrentHashMap<>();
+    // ReentrantLock em vez de synchronized: o upsert bloqueia e não deve prender a thread virtual à carrier
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public Optional<BsonDocument> find(String stream) {
+        return Optional.ofNullable(mongoTemplate.findById(stream, Document.class, COLLECTION))
+                .map(document -> BsonDocument.parse(document.getString("token")));
+    }
+
+    public void save(String stream, BsonDocument token) {
+        // Grava no máximo uma vez por segundo; reprocessar eventos é seguro porque o view guarda o documento inteiro
+        pendingTokens.put(stream, token);
+        if (Duration.between(lastFlushes.getOrDefault(stream, Instant.EPOCH), Instant.now()).compareTo(FLUSH_INTERVAL) >= 0) {
+            flush(stream);
+        }
+    }
+
+    // Sem novos eventos o último token de uma rajada ficaria só em memória; o timer grava o que ficou pendente
+    @Scheduled(fixedDelayString = "${community-center.change-streams.token-flush-ms:1000}")
+    public void flush() {
+        pendingTokens.keySet().forEach(this::flush);
+    }
+
+    // Serializado para que um token mais antigo não sobrescreva um mais novo no banco
+    private void flush(String stream) {
+        flushLock.lock();
+        try {
+            BsonDocument token = pendingTokens.remove(stream);
+            if (token == null) {
+                return;
+            }
+
+            mongoTemplate.upsert(new Query(Criteria.where("_id").is(stream)),
+                    new Update().set("token", token.toJson()).set("updatedAt", new Date()), COLLECTION);
+            lastFlushes.put(stream, Instant.now());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+}
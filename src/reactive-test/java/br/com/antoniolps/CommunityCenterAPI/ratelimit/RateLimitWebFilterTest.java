@@ -0,0 +1,113 @@
+package br.com.antoniolps.CommunityCenterAPI.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RateLimitWebFilter Tests")
+class RateLimitWebFilterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger forwarded = new AtomicInteger();
+    private final AtomicReference<String> forwardedBody = new AtomicReference<>();
+    private RateLimitWebFilter filter;
+
+    // Chain que só registra o que chegou ao controller
+    private final WebFilterChain chain = exchange -> DataBufferUtils.join(exchange.getRequest().getBody())
+            .doOnNext(body -> {
+                forwardedBody.set(body.toString(StandardCharsets.UTF_8));
+                DataBufferUtils.release(body);
+            })
+            .then(Mono.fromRunnable(forwarded::incrementAndGet));
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitWebFilter(
+                new TokenBucketRateLimiter("occupancy", 1, 2, 1000, meterRegistry, clock::get),
+                new TokenBucketRateLimiter("occupancy.center", 1, 4, 1000, meterRegistry, clock::get),
+                new TokenBucketRateLimiter("exchange", 1, 2, 1000, meterRegistry, clock::get),
+                new TokenBucketRateLimiter("exchange.center", 1, 4, 1000, meterRegistry, clock::get),
+                new TokenBucketRateLimiter("exchange-batch", 1, 5, 1000, meterRegistry, clock::get),
+                true,
+                new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Trocar o X-Client-Id não deve contornar o limite agregado do centro")
+    void shouldLimitCenterAcrossClientIds() {
+        for (int i = 0; i < 4; i++) {
+            filter.filter(occupancyExchange("centro", "kiosk-" + i), chain).block();
+        }
+
+        MockServerWebExchange rejected = occupancyExchange("centro", "kiosk-novo");
+        filter.filter(rejected, chain).block();
+
+        assertEquals(4, forwarded.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals("1", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    @DisplayName("Não deve recusar o PATCH de ocupação, que carrega um delta da catraca")
+    void shouldNotShedOccupancyDeltas() {
+        for (int i = 0; i < 10; i++) {
+            filter.filter(MockServerWebExchange.from(MockServerHttpRequest.patch("/community-centers/centro/occupancy")
+                    .header(RateLimitInterceptor.CLIENT_ID_HEADER, "kiosk")), chain).block();
+        }
+
+        assertEquals(10, forwarded.get());
+    }
+
+    @Test
+    @DisplayName("Deve consumir uma ficha por troca do lote e repassar o corpo intacto")
+    void shouldWeighBatchByExchangeCount() {
+        String batch = "[{\"sourceCenterId\":\"a\"},{\"sourceCenterId\":\"b\"},{\"sourceCenterId\":\"c\"}]";
+
+        filter.filter(batchExchange(batch), chain).block();
+        MockServerWebExchange rejected = batchExchange(batch);
+        filter.filter(rejected, chain).block();
+
+        assertEquals(1, forwarded.get());
+        assertEquals(batch, forwardedBody.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Deve recusar com 413 o lote maior que o limite de leitura do corpo")
+    void shouldRejectOversizedBatch() {
+        MockServerWebExchange rejected = batchExchange("[" + "{}, ".repeat(100_000) + "{}]");
+
+        filter.filter(rejected, chain).block();
+
+        assertEquals(0, forwarded.get());
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, rejected.getResponse().getStatusCode());
+    }
+
+    private MockServerWebExchange occupancyExchange(String centerId, String clientId) {
+        return MockServerWebExchange.from(MockServerHttpRequest.put("/community-centers/" + centerId + "/occupancy")
+                .header(RateLimitInterceptor.CLIENT_ID_HEADER, clientId));
+    }
+
+    private MockServerWebExchange batchExchange(String body) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/exchanges/batch")
+                .header(RateLimitInterceptor.CLIENT_ID_HEADER, "kiosk")
+                .body(body));
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.antoniolps.CommunityCenterAPI.services;
+
+import br.com.antoniolps.CommunityCenterAPI.model.projections.CenterOccupancy;
+import br.com.antoniolps.CommunityCenterAPI.repository.ReactiveCommunityCenterRepository;
+import br.com.antoniolps.CommunityCenterAPI.service.ReactiveCommunityCenterServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveCommunityCenterService Tests")
+class ReactiveCommunityCenterServiceImplTest {
+
+    @Mock
+    private ReactiveCommunityCenterRepository communityCenterRepository;
+
+    @InjectMocks
+    private ReactiveCommunityCenterServiceImpl communityCenterService;
+
+    @Test
+    @DisplayName("Deve indicar se o centro está lotado")
+    void shouldReturnWhetherCenterIsFull() {
+        UUID centerId = UUID.randomUUID();
+        when(communityCenterRepository.findOccupancyById(centerId)).thenReturn(Mono.just(occupancy(centerId, 100, 100)));
+
+        assertTrue(communityCenterService.isCenterFull(centerId).block());
+    }
+
+    @Test
+    @DisplayName("Deve emitir erro quando o centro não existe")
+    void shouldErrorWhenCenterDoesNotExist() {
+        UUID centerId = UUID.randomUUID();
+        when(communityCenterRepository.findOccupancyById(centerId)).thenReturn(Mono.empty());
+
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> communityCenterService.isCenterFull(centerId).block()
+        );
+
+        assertEquals("Centro comunitário não encontrado", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve consultar vários centros de uma vez, omitindo os inexistentes")
+    void shouldCheckManyCentersInSingleQuery() {
+        UUID fullId = UUID.randomUUID();
+        UUID freeId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        List<UUID> ids = List.of(fullId, freeId, missingId);
+        when(communityCenterRepository.findOccupancyByIdIn(ids))
+                .thenReturn(Flux.just(occupancy(fullId, 100, 100), occupancy(freeId, 10, 100)));
+
+        Map<UUID, Boolean> result = communityCenterService.areCentersFull(ids).block();
+
+        assertEquals(Map.of(fullId, true, freeId, false), result);
+        verify(communityCenterRepository, times(1)).findOccupancyByIdIn(ids);
+    }
+
+    private CenterOccupancy occupancy(UUID id, int currentOccupancy, int maxCapacity) {
+        return new CenterOccupancy() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return "Centro " + id;
+            }
+
+            @Override
+            public int getCurrentOccupancy() {
+                return currentOccupancy;
+            }
+
+            @Override
+            public int getMaxCapacity() {
+                return maxCapacity;
+            }
+
+            @Override
+            public long getOccupancyVersion() {
+                return 0;
+            }
+        };
+    }
+}
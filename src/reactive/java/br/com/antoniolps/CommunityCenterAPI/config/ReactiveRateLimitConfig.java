@@ -0,0 +1,36 @@
+package br.com.antoniolps.CommunityCenterAPI.config;
+
+import br.com.antoniolps.CommunityCenterAPI.ratelimit.RateLimitWebFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import static br.com.antoniolps.CommunityCenterAPI.config.RateLimitConfig.rateLimiter;
+
+// Equivalente do RateLimitConfig no modo WebFlux, com as mesmas propriedades
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(name = "community-center.rate-limit.enabled", havingValue = "true")
+public class ReactiveRateLimitConfig {
+
+    @Bean
+    public RateLimitWebFilter rateLimitWebFilter(
+            MeterRegistry meterRegistry,
+            Environment environment,
+            ObjectMapper objectMapper,
+            @Value("${community-center.rate-limit.trust-client-id-header:false}") boolean trustClientIdHeader) {
+        return new RateLimitWebFilter(
+                rateLimiter("occupancy", 5, 10, meterRegistry, environment),
+                rateLimiter("occupancy.center", 20, 40, meterRegistry, environment),
+                rateLimiter("exchange", 2, 5, meterRegistry, environment),
+                rateLimiter("exchange.center", 10, 20, meterRegistry, environment),
+                rateLimiter("exchange-batch", 50, 1000, meterRegistry, environment),
+                trustClientIdHeader,
+                objectMapper);
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.antoniolps.CommunityCenterAPI.controller;
+
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.CommunityCenterRequest;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.NearbyCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.OccupancyBatchResult;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.OccupancyDeltaRequest;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.OccupancyEvent;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.OccupancyUpdate;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ResourceStatistics;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.UpdateOccupancyRequest;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import br.com.antoniolps.CommunityCenterAPI.service.CommunityCenterService;
+import br.com.antoniolps.CommunityCenterAPI.service.ReactiveCommunityCenterService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/community-centers")
+@RequiredArgsConstructor
+public class ReactiveCommunityCenterController {
+
+    private final CommunityCenterService communityCenterService;
+    private final ReactiveCommunityCenterService reactiveCommunityCenterService;
+
+    @PostMapping
+    public Mono<ResponseEntity<Void>> addCenter(CommunityCenterRequest dto) {
+        return blocking(() -> {
+            communityCenterService.addCenter(dto);
+            return ResponseEntity.status(HttpStatus.CREATED).build();
+        });
+    }
+
+    @PutMapping("/{id}/occupancy")
+    public Mono<ResponseEntity<Void>> updateOccupancy(@PathVariable("id") String id, UpdateOccupancyRequest dto) {
+        return blocking(() -> {
+            communityCenterService.updateOccupancy(id, dto.getCurrentOccupancy());
+            return ResponseEntity.status(HttpStatus.OK).build();
+        });
+    }
+
+    @PatchMapping("/{id}/occupancy")
+    public Mono<ResponseEntity<Integer>> adjustOccupancy(@PathVariable("id") String id, OccupancyDeltaRequest dto) {
+        return blocking(() -> ResponseEntity.ok(communityCenterService.adjustOccupancy(id, dto.getDelta())));
+    }
+
+    @PostMapping("/occupancy/events")
+    public Mono<ResponseEntity<OccupancyBatchResult>> ingestOccupancyEvents(@RequestBody List<OccupancyEvent> events) {
+        return blocking(() -> ResponseEntity.ok(communityCenterService.ingestOccupancyEvents(events)));
+    }
+
+    @GetMapping("/highest-occupancy")
+    public Mono<ResponseEntity<CommunityCenter>> listCenterWithHighestOccupancy() {
+        return blocking(() -> ResponseEntity.ok(communityCenterService.listCenterWithHighestOccupancy()));
+    }
+
+    @GetMapping("/top")
+    public Mono<ResponseEntity<List<OccupancyUpdate>>> getTopCenters(
+            @RequestParam(value = "k", defaultValue = "10") int k,
+            @RequestParam(value = "by", defaultValue = "absolute") String by) {
+        return blocking(() -> ResponseEntity.ok(communityCenterService.getTopCenters(k, by)));
+    }
+
+    @GetMapping("/occupancy-greater-than-ninety")
+    public Mono<ResponseEntity<List<CommunityCenter>>> getCentersWithOccupancyGreaterThanNinetyPercent(
+            @RequestParam(value = "threshold", defaultValue = "0.9") double threshold) {
+        return blocking(() -> ResponseEntity.ok(communityCenterService.getCentersWithOccupancyRatioGreaterThan(threshold)));
+    }
+
+    @GetMapping("/nearest")
+    public Mono<ResponseEntity<List<NearbyCenter>>> findNearestCenters(
+            @RequestParam("latitude") double latitude,
+            @RequestParam("longitude") double longitude,
+            @RequestParam(value = "minFreeCapacity", defaultValue = "1") int minFreeCapacity,
+            @RequestParam(value = "resource", required = false) ResourceTypeEnum resource,
+            @RequestParam(value = "minQuantity", defaultValue = "1") int minQuantity,
+            @RequestParam(value = "maxDistance", required = false) Double maxDistanceInMeters,
+            @RequestParam(value = "limit", defaultValue = "5") int limit) {
+        return blocking(() -> ResponseEntity.ok(communityCenterService.findNearestCenters(latitude, longitude,
+                minFreeCapacity, resource, minQuantity, maxDistanceInMeters, limit)));
+    }
+
+    // Média e estatísticas vêm do resumo em memória, sem acesso ao banco
+    @GetMapping("/average-resources")
+    public Mono<ResponseEntity<Map<ResourceTypeEnum, Double>>> getAverageResourcesPerType() {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(communityCenterService.getAverageResourcesPerType()));
+    }
+
+    @GetMapping("/resource-statistics")
+    public Mono<ResponseEntity<Map<ResourceTypeEnum, ResourceStatistics>>> getResourceStatistics() {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(communityCenterService.getResourceStatistics()));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Boolean>> isCenterFull(@RequestParam("id") String centerId) {
+        return reactiveCommunityCenterService.isCenterFull(UUID.fromString(centerId)).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/full")
+    public Mono<ResponseEntity<Map<UUID, Boolean>>> areCentersFull(@RequestParam("ids") List<String> centerIds) {
+        List<UUID> ids = centerIds.stream().map(UUID::fromString).toList();
+        return reactiveCommunityCenterService.areCentersFull(ids).map(ResponseEntity::ok);
+    }
+
+    // Operações que ainda usam o driver bloqueante rodam no boundedElastic, fora das threads do event loop
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
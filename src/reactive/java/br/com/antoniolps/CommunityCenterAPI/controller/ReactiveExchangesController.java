@@ -0,0 +1,86 @@
+package br.com.antoniolps.CommunityCenterAPI.controller;
+
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangePage;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeRequest;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeReturn;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeSuggestion;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.MatchRequest;
+import br.com.antoniolps.CommunityCenterAPI.service.ExchangeMatchService;
+import br.com.antoniolps.CommunityCenterAPI.service.ExchangeService;
+import br.com.antoniolps.CommunityCenterAPI.service.ReactiveExchangeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/exchanges")
+@RequiredArgsConstructor
+public class ReactiveExchangesController {
+
+    private final ExchangeService exchangeService;
+    private final ExchangeMatchService exchangeMatchService;
+    private final ReactiveExchangeService reactiveExchangeService;
+
+    @PostMapping()
+    public Mono<ResponseEntity<Void>> exchangeResources(ExchangeRequest dto) {
+        return blocking(() -> {
+            exchangeService.exchangeResources(dto);
+            return ResponseEntity.status(HttpStatus.CREATED).build();
+        });
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Void>> exchangeResourcesInBatch(@RequestBody List<ExchangeRequest> requests) {
+        return blocking(() -> {
+            exchangeService.exchangeResourcesInBatch(requests);
+            return ResponseEntity.status(HttpStatus.CREATED).build();
+        });
+    }
+
+    // A busca usa apenas o índice em memória
+    @PostMapping("/matches")
+    public Mono<ResponseEntity<List<ExchangeSuggestion>>> findMatches(@RequestBody MatchRequest request) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(exchangeMatchService.findMatches(request)));
+    }
+
+    @GetMapping()
+    public Flux<ExchangeReturn> getAllExchangesAfterDate(String date, String centerId) {
+        return reactiveExchangeService.getAllExchangesByCenterAfterDate(centerId, date);
+    }
+
+    // Mesma resposta do modo servlet: só a primeira página, com o Link para /page
+    @Deprecated
+    @GetMapping("{centerId}/all")
+    public Mono<ResponseEntity<List<ExchangeReturn>>> getAllByCenterId(@PathVariable String centerId) {
+        return blocking(() -> ExchangePageLinks.firstPage(centerId,
+                exchangeService.getPageByCenterId(centerId, null, ExchangeService.MAX_PAGE_SIZE)));
+    }
+
+    @GetMapping("{centerId}/page")
+    public Mono<ResponseEntity<ExchangePage>> getPageByCenterId(@PathVariable String centerId,
+                                                                @RequestParam(value = "cursor", required = false) String cursor,
+                                                                @RequestParam(value = "size", defaultValue = "50") int size) {
+        return blocking(() -> ResponseEntity.ok(exchangeService.getPageByCenterId(centerId, cursor, size)));
+    }
+
+    // Uma troca por linha; o cursor só avança conforme o cliente consome a resposta
+    @GetMapping(value = "{centerId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ExchangeReturn> streamAllByCenterId(@PathVariable String centerId) {
+        return reactiveExchangeService.streamAllByCenterId(centerId);
+    }
+
+    // Operações que ainda usam o driver bloqueante rodam no boundedElastic, fora das threads do event loop
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
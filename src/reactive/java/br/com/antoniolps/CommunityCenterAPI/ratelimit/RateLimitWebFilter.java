@@ -0,0 +1,131 @@
+package br.com.antoniolps.CommunityCenterAPI.ratelimit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+// Mesmos limites do RateLimitInterceptor e do ExchangeBatchRateLimitAdvice, aplicados antes do roteamento do WebFlux
+@RequiredArgsConstructor
+public class RateLimitWebFilter implements WebFilter {
+
+    private static final PathPattern OCCUPANCY_PATH = PathPatternParser.defaultInstance.parse("/community-centers/{id}/occupancy");
+    private static final PathPattern EXCHANGE_PATH = PathPatternParser.defaultInstance.parse("/exchanges");
+    private static final PathPattern EXCHANGE_BATCH_PATH = PathPatternParser.defaultInstance.parse("/exchanges/batch");
+
+    // Mesmo limite padrão dos codecs do WebFlux
+    private static final int MAX_BATCH_BODY_BYTES = 256 * 1024;
+
+    private final TokenBucketRateLimiter occupancyRateLimiter;
+    private final TokenBucketRateLimiter occupancyCenterRateLimiter;
+    private final TokenBucketRateLimiter exchangeRateLimiter;
+    private final TokenBucketRateLimiter exchangeCenterRateLimiter;
+    private final TokenBucketRateLimiter exchangeBatchRateLimiter;
+    private final boolean trustClientIdHeader;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        // Como no RateLimitInterceptor, o PATCH de ocupação (delta de catraca) não é recusado
+        if (HttpMethod.GET.equals(request.getMethod()) || HttpMethod.PATCH.equals(request.getMethod())) {
+            return chain.filter(exchange);
+        }
+
+        PathContainer path = request.getPath().pathWithinApplication();
+        String clientId = clientId(request, trustClientIdHeader);
+
+        PathPattern.PathMatchInfo occupancy = OCCUPANCY_PATH.matchAndExtract(path);
+        if (occupancy != null) {
+            String centerId = occupancy.getUriVariables().get("id");
+            return limit(exchange, chain, occupancyRateLimiter, occupancyCenterRateLimiter, centerId, clientId);
+        }
+        if (EXCHANGE_PATH.matches(path)) {
+            String sourceCenterId = request.getQueryParams().getFirst("sourceCenterId");
+            return limit(exchange, chain, exchangeRateLimiter, exchangeCenterRateLimiter,
+                    sourceCenterId != null ? sourceCenterId : "", clientId);
+        }
+        if (EXCHANGE_BATCH_PATH.matches(path)) {
+            return limitBatch(exchange, chain, clientId);
+        }
+        return chain.filter(exchange);
+    }
+
+    static String clientId(ServerHttpRequest request, boolean trustClientIdHeader) {
+        String clientId = trustClientIdHeader ? request.getHeaders().getFirst(RateLimitInterceptor.CLIENT_ID_HEADER) : null;
+        if (clientId != null && !clientId.isBlank()) {
+            return clientId;
+        }
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return remoteAddress != null ? remoteAddress.getHostString() : "";
+    }
+
+    private Mono<Void> limit(ServerWebExchange exchange, WebFilterChain chain, TokenBucketRateLimiter clientRateLimiter,
+                             TokenBucketRateLimiter centerRateLimiter, String centerId, String clientId) {
+        long waitNanos = clientRateLimiter.tryAcquire(centerId + "|" + clientId);
+        if (waitNanos == 0 && !centerId.isEmpty()) {
+            waitNanos = centerRateLimiter.tryAcquire(centerId);
+        }
+        return waitNanos == 0 ? chain.filter(exchange) : reject(exchange, waitNanos);
+    }
+
+    // O corpo é lido uma vez para contar as trocas e repassado ao controller sem nova leitura
+    private Mono<Void> limitBatch(ServerWebExchange exchange, WebFilterChain chain, String clientId) {
+        return DataBufferUtils.join(exchange.getRequest().getBody(), MAX_BATCH_BODY_BYTES)
+                .defaultIfEmpty(exchange.getResponse().bufferFactory().wrap(new byte[0]))
+                .flatMap(body -> {
+                    long waitNanos = exchangeBatchRateLimiter.tryAcquire(clientId, batchSize(body));
+                    if (waitNanos > 0) {
+                        DataBufferUtils.release(body);
+                        return reject(exchange, waitNanos);
+                    }
+                    ServerHttpRequest request = new ServerHttpRequestDecorator(exchange.getRequest()) {
+                        @Override
+                        public Flux<DataBuffer> getBody() {
+                            return Flux.just(body);
+                        }
+                    };
+                    return chain.filter(exchange.mutate().request(request).build());
+                })
+                .onErrorResume(DataBufferLimitException.class, e -> {
+                    exchange.getResponse().setStatusCode(HttpStatus.PAYLOAD_TOO_LARGE);
+                    return exchange.getResponse().setComplete();
+                });
+    }
+
+    private int batchSize(DataBuffer body) {
+        try {
+            JsonNode batch = objectMapper.readTree(body.toString(StandardCharsets.UTF_8));
+            return batch != null && batch.isArray() ? batch.size() : 1;
+        } catch (JsonProcessingException e) {
+            // Corpo inválido: a desserialização no controller devolve o erro
+            return 1;
+        }
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, long waitNanos) {
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders()
+                .set(HttpHeaders.RETRY_AFTER, String.valueOf(TokenBucketRateLimiter.retryAfterSeconds(waitNanos)));
+        return exchange.getResponse().setComplete();
+    }
+}
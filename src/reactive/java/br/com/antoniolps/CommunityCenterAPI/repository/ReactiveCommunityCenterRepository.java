@@ -0,0 +1,19 @@
+package br.com.antoniolps.CommunityCenterAPI.repository;
+
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.projections.CenterOccupancy;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.UUID;
+
+@Repository
+public interface ReactiveCommunityCenterRepository extends ReactiveMongoRepository<CommunityCenter, UUID> {
+
+    Mono<CenterOccupancy> findOccupancyById(UUID id);
+
+    Flux<CenterOccupancy> findOccupancyByIdIn(Collection<UUID> ids);
+}
@@ -0,0 +1,20 @@
+package br.com.antoniolps.CommunityCenterAPI.repository;
+
+import br.com.antoniolps.CommunityCenterAPI.model.ExchangeHistory;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface ReactiveExchangeHistoryRepository extends ReactiveMongoRepository<ExchangeHistory, UUID> {
+
+    @Query("{ '$or': [ { 'sourceCenterId': ?0, 'timestamp': { '$gt': ?1 } }, " +
+            "{ 'targetCenterId': ?0, 'timestamp': { '$gt': ?1 } } ] }")
+    Flux<ExchangeHistory> findByCenterIdAndTimestampAfter(String centerId, LocalDateTime fromDate);
+
+    Flux<ExchangeHistory> findBySourceCenterIdOrTargetCenterId(String sourceId, String targetId);
+}
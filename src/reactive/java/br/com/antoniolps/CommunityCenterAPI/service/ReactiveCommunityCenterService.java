@@ -0,0 +1,14 @@
+package br.com.antoniolps.CommunityCenterAPI.service;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface ReactiveCommunityCenterService {
+
+    Mono<Boolean> isCenterFull(UUID centerId);
+
+    Mono<Map<UUID, Boolean>> areCentersFull(List<UUID> centerIds);
+}
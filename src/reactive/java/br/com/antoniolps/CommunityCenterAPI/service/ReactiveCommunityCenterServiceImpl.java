@@ -0,0 +1,39 @@
+package br.com.antoniolps.CommunityCenterAPI.service;
+
+import br.com.antoniolps.CommunityCenterAPI.model.projections.CenterOccupancy;
+import br.com.antoniolps.CommunityCenterAPI.repository.ReactiveCommunityCenterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveCommunityCenterServiceImpl implements ReactiveCommunityCenterService {
+
+    private final ReactiveCommunityCenterRepository communityCenterRepository;
+
+    @Override
+    public Mono<Boolean> isCenterFull(UUID centerId) {
+        return communityCenterRepository.findOccupancyById(centerId)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Centro comunitário não encontrado")))
+                .map(this::isFull);
+    }
+
+    @Override
+    public Mono<Map<UUID, Boolean>> areCentersFull(List<UUID> centerIds) {
+        // Uma única consulta $in; centros inexistentes ficam fora da resposta
+        return communityCenterRepository.findOccupancyByIdIn(centerIds)
+                .collect(LinkedHashMap::new, (result, occupancy) -> result.put(occupancy.getId(), isFull(occupancy)));
+    }
+
+    private boolean isFull(CenterOccupancy occupancy) {
+        return occupancy.getCurrentOccupancy() == occupancy.getMaxCapacity();
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.antoniolps.CommunityCenterAPI.service;
+
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeReturn;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveExchangeService {
+
+    Flux<ExchangeReturn> getAllExchangesByCenterAfterDate(String centerId, String date);
+
+    Flux<ExchangeReturn> streamAllByCenterId(String centerId);
+}
@@ -0,0 +1,45 @@
+package br.com.antoniolps.CommunityCenterAPI.service;
+
+import br.com.antoniolps.CommunityCenterAPI.model.ExchangeHistory;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeReturn;
+import br.com.antoniolps.CommunityCenterAPI.repository.ReactiveExchangeHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveExchangeServiceImpl implements ReactiveExchangeService {
+
+    private static final int STREAM_PREFETCH = 256;
+
+    private final ReactiveExchangeHistoryRepository exchangeHistoryRepository;
+
+    @Override
+    public Flux<ExchangeReturn> getAllExchangesByCenterAfterDate(String centerId, String date) {
+        LocalDateTime fromDate = LocalDateTime.parse(date);
+        return exchangeHistoryRepository.findByCenterIdAndTimestampAfter(centerId, fromDate)
+                .map(this::toExchangeReturn);
+    }
+
+    @Override
+    public Flux<ExchangeReturn> streamAllByCenterId(String centerId) {
+        // A demanda do cliente chega ao cursor: no máximo STREAM_PREFETCH trocas são lidas à frente do que já foi escrito
+        return exchangeHistoryRepository.findBySourceCenterIdOrTargetCenterId(centerId, centerId)
+                .limitRate(STREAM_PREFETCH)
+                .map(this::toExchangeReturn);
+    }
+
+    private ExchangeReturn toExchangeReturn(ExchangeHistory history) {
+        return ExchangeReturn.builder()
+                .sourceCenterId(history.getSourceCenterId())
+                .targetCenterId(history.getTargetCenterId())
+                .resourcesGiven(history.getResourcesGiven())
+                .resourcesReceived(history.getResourcesReceived())
+                .build();
+    }
+}
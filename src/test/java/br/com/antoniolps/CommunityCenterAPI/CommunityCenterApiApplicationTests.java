@@ -1,11 +1,23 @@
 package br.com.antoniolps.CommunityCenterAPI;
 
+import br.com.antoniolps.CommunityCenterAPI.repository.CommunityCenterRepository;
+import br.com.antoniolps.CommunityCenterAPI.service.ResourceSummaryService;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+// Sobe o contexto sem MongoDB: as cargas feitas no ApplicationReadyEvent leem dos mocks
 @SpringBootTest
+@ActiveProfiles("test")
 class CommunityCenterApiApplicationTests {
 
+	@MockitoBean
+	private CommunityCenterRepository communityCenterRepository;
+
+	@MockitoBean
+	private ResourceSummaryService resourceSummaryService;
+
 	@Test
 	void contextLoads() {
 	}
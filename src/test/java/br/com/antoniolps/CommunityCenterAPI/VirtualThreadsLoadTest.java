@@ -0,0 +1,136 @@
+package br.com.antoniolps.CommunityCenterAPI;
+
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import br.com.antoniolps.CommunityCenterAPI.repository.CommunityCenterRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Requer um MongoDB em execução e Java 21: ./mvnw -Pjava21 test -Dmongodb.integration=true -Dtest=VirtualThreadsLoadTest
+@EnabledIfSystemProperty(named = "mongodb.integration", matches = "true")
+@EnabledForJreRange(min = JRE.JAVA_21)
+@DisplayName("Virtual Threads Load Test")
+class VirtualThreadsLoadTest {
+
+    private static final int CENTERS = 50;
+    private static final int MAX_CAPACITY = 1000;
+    private static final int CONCURRENCY = 1000;
+    private static final int REQUESTS = 10_000;
+    private static final int WARMUP_REQUESTS = 2_000;
+
+    @Test
+    @DisplayName("Compara vazão e p99 de threads de plataforma e virtuais com alta concorrência")
+    void shouldCompareVirtualAndPlatformThreadsUnderBurst() throws Exception {
+        LoadResult platform = runLoad(false);
+        LoadResult virtual = runLoad(true);
+
+        System.out.printf("Threads de plataforma: %.0f req/s, p99 %.1f ms | Threads virtuais: %.0f req/s, p99 %.1f ms%n",
+                platform.throughput(), platform.p99Millis(), virtual.throughput(), virtual.p99Millis());
+
+        assertEquals(0, platform.errors());
+        assertEquals(0, virtual.errors());
+    }
+
+    private LoadResult runLoad(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CommunityCenterApiApplication.class)
+                .properties("server.port=0", "spring.threads.virtual.enabled=" + virtualThreads,
+                        "community-center.rate-limit.enabled=false")
+                .run()) {
+            CommunityCenterRepository repository = context.getBean(CommunityCenterRepository.class);
+            List<UUID> centerIds = seedCenters(repository);
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+            try {
+                sendRequests(port, centerIds, WARMUP_REQUESTS);
+                return sendRequests(port, centerIds, REQUESTS);
+            } finally {
+                repository.deleteAllById(centerIds);
+            }
+        }
+    }
+
+    private LoadResult sendRequests(int port, List<UUID> centerIds, int requests) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+
+        try {
+            List<Future<Long>> results = new ArrayList<>(requests);
+            long start = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                UUID centerId = centerIds.get(i % centerIds.size());
+                results.add(clients.submit(() -> updateOccupancy(client, port, centerId)));
+            }
+
+            long[] latencies = new long[requests];
+            int errors = 0;
+            for (int i = 0; i < requests; i++) {
+                latencies[i] = results.get(i).get();
+                if (latencies[i] < 0) {
+                    errors++;
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            long p99 = latencies[(int) Math.ceil(requests * 0.99) - 1];
+            return new LoadResult(requests / (elapsed / 1e9), p99 / 1e6, errors);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    // Latência em nanossegundos, ou -1 quando a requisição falha
+    private long updateOccupancy(HttpClient client, int port, UUID centerId) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:" + port + "/community-centers/" + centerId
+                        + "/occupancy?currentOccupancy=" + ThreadLocalRandom.current().nextInt(MAX_CAPACITY + 1)))
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+
+        long start = System.nanoTime();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        long latency = System.nanoTime() - start;
+        return response.statusCode() == 200 ? latency : -1;
+    }
+
+    private List<UUID> seedCenters(CommunityCenterRepository repository) {
+        List<UUID> centerIds = new ArrayList<>(CENTERS);
+        for (int i = 0; i < CENTERS; i++) {
+            CommunityCenter center = repository.save(CommunityCenter.builder()
+                    .id(UUID.randomUUID())
+                    .name("Centro Carga " + i)
+                    .maxCapacity(MAX_CAPACITY)
+                    .currentOccupancy(0)
+                    .build());
+            centerIds.add(center.getId());
+        }
+        return centerIds;
+    }
+
+    private record LoadResult(double throughput, double p99Millis, int errors) {
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.antoniolps.CommunityCenterAPI.config;
+
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CacheConfig Tests")
+class CacheConfigTest {
+
+    private Cache cache;
+    private UUID centerId;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setCacheNames(List.of(CacheConfig.COMMUNITY_CENTER_CACHE));
+        cacheProperties.getCaffeine().setSpec("maximumSize=100");
+
+        CacheManager cacheManager = new CacheConfig().cacheManager(cacheProperties);
+        ((TransactionAwareCacheManagerProxy) cacheManager).afterPropertiesSet();
+        cache = cacheManager.getCache(CacheConfig.COMMUNITY_CENTER_CACHE);
+        centerId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Alterar o centro lido ou gravado não deve alterar a entrada em cache")
+    void shouldIsolateCachedCenterFromCallers() {
+        CommunityCenter center = center(10);
+        cache.put(centerId, center);
+        center.setCurrentOccupancy(99);
+        center.getResourceMap().put(ResourceTypeEnum.VOLUNTARIO, 0);
+
+        CommunityCenter cached = cache.get(centerId, CommunityCenter.class);
+        cached.setCurrentOccupancy(77);
+
+        CommunityCenter reread = cache.get(centerId, CommunityCenter.class);
+        assertNotSame(cached, reread);
+        assertEquals(10, reread.getCurrentOccupancy());
+        assertEquals(5, reread.getResourceMap().get(ResourceTypeEnum.VOLUNTARIO));
+    }
+
+    @Test
+    @DisplayName("Com transação ativa, a remoção do cache só deve acontecer após o commit")
+    void shouldEvictOnlyAfterCommit() {
+        cache.put(centerId, center(10));
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evict(centerId);
+        assertNotNull(cache.get(centerId));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertNull(cache.get(centerId));
+    }
+
+    private CommunityCenter center(int currentOccupancy) {
+        Map<ResourceTypeEnum, Integer> resources = new HashMap<>();
+        resources.put(ResourceTypeEnum.VOLUNTARIO, 5);
+        return CommunityCenter.builder()
+                .id(centerId)
+                .name("Centro Teste")
+                .maxCapacity(100)
+                .currentOccupancy(currentOccupancy)
+                .resourceMap(resources)
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.antoniolps.CommunityCenterAPI.controller;
+
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangePage;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeReturn;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ExchangePageLinks Tests")
+class ExchangePageLinksTest {
+
+    @Test
+    @DisplayName("O /all descontinuado deve devolver a primeira página com o Link para a próxima")
+    void shouldLinkNextPage() {
+        ExchangePage page = ExchangePage.builder()
+                .content(List.of(ExchangeReturn.builder().sourceCenterId("a").targetCenterId("b").build()))
+                .next("cursor-2")
+                .build();
+
+        ResponseEntity<List<ExchangeReturn>> response = ExchangePageLinks.firstPage("centro", page);
+
+        assertEquals(page.getContent(), response.getBody());
+        assertEquals("true", response.getHeaders().getFirst("Deprecation"));
+        assertEquals("</exchanges/centro/page?cursor=cursor-2&size=500>; rel=\"next\"",
+                response.getHeaders().getFirst(HttpHeaders.LINK));
+    }
+
+    @Test
+    @DisplayName("Não deve enviar o Link quando o histórico cabe em uma página")
+    void shouldNotLinkWhenSinglePage() {
+        ResponseEntity<List<ExchangeReturn>> response = ExchangePageLinks.firstPage("centro",
+                ExchangePage.builder().content(List.of()).build());
+
+        assertNull(response.getHeaders().getFirst(HttpHeaders.LINK));
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.antoniolps.CommunityCenterAPI.model;
+
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ResourceVector Tests")
+class ResourceVectorTest {
+
+    private final ResourceVector vector = ResourceVector.of(Map.of(ResourceTypeEnum.VOLUNTARIO, 2, ResourceTypeEnum.MEDICO, 3));
+
+    @Test
+    @DisplayName("Deve calcular pontos e deltas pelos pontos do enum")
+    void shouldCalculatePointsAndDeltas() {
+        ResourceVector requested = ResourceVector.of(ResourceTypeEnum.CESTA_BASICA, 9);
+
+        assertEquals(18, vector.points());
+        assertEquals(vector.points(), requested.points());
+        assertEquals(Map.of(ResourceTypeEnum.VOLUNTARIO, -2, ResourceTypeEnum.MEDICO, -3, ResourceTypeEnum.CESTA_BASICA, 9),
+                requested.minus(vector).toMap());
+        assertTrue(vector.minus(vector).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve manter o formato de mapa no JSON")
+    void shouldRoundTripAsJsonObject() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        String json = objectMapper.writeValueAsString(vector);
+
+        assertEquals("{\"MEDICO\":3,\"VOLUNTARIO\":2}", json);
+        assertEquals(vector, objectMapper.readValue(json, ResourceVector.class));
+    }
+
+    @Test
+    @DisplayName("Deve gravar e ler o mesmo subdocumento que o mapa gerava no MongoDB")
+    void shouldRoundTripAsMongoDocument() {
+        Document document = new ResourceVector.MongoWriter().convert(vector);
+
+        assertEquals(new Document("MEDICO", 3).append("VOLUNTARIO", 2), document);
+        assertEquals(vector, new ResourceVector.MongoReader().convert(document));
+    }
+}
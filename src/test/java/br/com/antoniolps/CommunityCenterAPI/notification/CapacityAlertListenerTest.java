@@ -0,0 +1,104 @@
+package br.com.antoniolps.CommunityCenterAPI.notification;
+
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import br.com.antoniolps.CommunityCenterAPI.stream.CommunityCenterChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CapacityAlertListener Tests")
+class CapacityAlertListenerTest {
+
+    @Mock
+    private CapacityAlertSink sink;
+
+    private CapacityAlertListener listener;
+    private UUID centerId;
+
+    @BeforeEach
+    void setUp() {
+        listener = new CapacityAlertListener(List.of(sink));
+        centerId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Deve alertar ao cruzar 90% e ao lotar, sem repetir o mesmo nível")
+    void shouldAlertOnceWhenCrossingThresholds() {
+        listener.onOccupancyChanged(event(50));
+        listener.onOccupancyChanged(event(90));
+        listener.onOccupancyChanged(event(95));
+        listener.onOccupancyChanged(event(100));
+        listener.onOccupancyChanged(event(100));
+
+        verify(sink, times(1)).send(event(90), CapacityAlertLevel.NEAR_FULL);
+        verify(sink, times(1)).send(event(100), CapacityAlertLevel.FULL);
+        verifyNoMoreInteractions(sink);
+    }
+
+    @Test
+    @DisplayName("Deve alertar novamente quando o centro lotar depois de esvaziar")
+    void shouldAlertAgainAfterOccupancyDrops() {
+        listener.onOccupancyChanged(event(100));
+        listener.onOccupancyChanged(event(40));
+        listener.onOccupancyChanged(event(100));
+
+        verify(sink, times(2)).send(event(100), CapacityAlertLevel.FULL);
+    }
+
+    @Test
+    @DisplayName("Não deve repetir o alerta de lotação na reconciliação")
+    void shouldNotRepeatFullAlertOnReconciliation() {
+        listener.onOccupancyChanged(event(100));
+        listener.onOccupancyChanged(event(100));
+
+        verify(sink, times(1)).send(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve descartar o nível alertado quando o centro é removido")
+    void shouldForgetAlertedLevelWhenCenterIsDeleted() {
+        listener.onOccupancyChanged(event(100));
+        listener.onCenterChanged(new CommunityCenterChangedEvent(centerId, CommunityCenter.builder().id(centerId).build()));
+        listener.onOccupancyChanged(event(100));
+
+        verify(sink, times(1)).send(event(100), CapacityAlertLevel.FULL);
+
+        listener.onCenterChanged(new CommunityCenterChangedEvent(centerId, null));
+        listener.onOccupancyChanged(event(100));
+
+        verify(sink, times(2)).send(event(100), CapacityAlertLevel.FULL);
+    }
+
+    @Test
+    @DisplayName("Sink padrão deve escrever o alerta de capacidade máxima no console")
+    void consoleSinkShouldPrintFullAlert() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outputStream));
+
+        try {
+            new ConsoleCapacityAlertSink().send(event(100), CapacityAlertLevel.FULL);
+
+            assertTrue(outputStream.toString().contains("Alerta: O centro comunitário Centro Teste atingiu sua capacidade máxima."));
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+
+    private OccupancyChangedEvent event(int currentOccupancy) {
+        return new OccupancyChangedEvent(centerId, "Centro Teste", currentOccupancy, 100, 0);
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.antoniolps.CommunityCenterAPI.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RateLimitInterceptor Tests")
+class RateLimitInterceptorTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Trocar o X-Client-Id não deve contornar o limite agregado do centro")
+    void shouldLimitCenterAcrossClientIds() throws Exception {
+        RateLimitInterceptor interceptor = interceptor(true);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(interceptor.preHandle(occupancyRequest("centro", "kiosk-" + i), new MockHttpServletResponse(), null));
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(occupancyRequest("centro", "kiosk-novo"), response, null));
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(interceptor.preHandle(occupancyRequest("outro-centro", "kiosk-novo"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    @DisplayName("Sem proxy confiável, o X-Client-Id deve ser ignorado e o cliente identificado pelo endereço")
+    void shouldIgnoreClientIdHeaderWhenNotTrusted() throws Exception {
+        RateLimitInterceptor interceptor = interceptor(false);
+
+        assertTrue(interceptor.preHandle(occupancyRequest("centro", "kiosk-1"), new MockHttpServletResponse(), null));
+        assertTrue(interceptor.preHandle(occupancyRequest("centro", "kiosk-2"), new MockHttpServletResponse(), null));
+        assertFalse(interceptor.preHandle(occupancyRequest("centro", "kiosk-3"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    @DisplayName("Não deve recusar o PATCH de ocupação, que carrega um delta da catraca")
+    void shouldNotShedOccupancyDeltas() throws Exception {
+        RateLimitInterceptor interceptor = interceptor(true);
+
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest request = occupancyRequest("centro", "kiosk");
+            request.setMethod("PATCH");
+            assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+        }
+        assertTrue(interceptor.preHandle(occupancyRequest("centro", "kiosk"), new MockHttpServletResponse(), null));
+    }
+
+    // Cliente: 2 por centro; centro: 4 somando todos os clientes
+    private RateLimitInterceptor interceptor(boolean trustClientIdHeader) {
+        return new RateLimitInterceptor(
+                new TokenBucketRateLimiter("occupancy", 1, 2, 1000, meterRegistry, clock::get),
+                new TokenBucketRateLimiter("occupancy.center", 1, 4, 1000, meterRegistry, clock::get),
+                trustClientIdHeader);
+    }
+
+    private MockHttpServletRequest occupancyRequest(String centerId, String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/community-centers/" + centerId + "/occupancy");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", centerId));
+        request.addHeader(RateLimitInterceptor.CLIENT_ID_HEADER, clientId);
+        return request;
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.antoniolps.CommunityCenterAPI.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TokenBucketRateLimiter Tests")
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private TokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new TokenBucketRateLimiter("occupancy", 2, 3, 1000, meterRegistry, clock::get);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar a rajada e recusar a próxima requisição informando a espera")
+    void shouldAllowBurstThenShed() {
+        assertEquals(0, rateLimiter.tryAcquire("centro|kiosk"));
+        assertEquals(0, rateLimiter.tryAcquire("centro|kiosk"));
+        assertEquals(0, rateLimiter.tryAcquire("centro|kiosk"));
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), rateLimiter.tryAcquire("centro|kiosk"));
+        assertEquals(1.0, meterRegistry.get("rate.limit.shed").tag("limiter", "occupancy").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve repor fichas conforme o tempo passa")
+    void shouldRefillOverTime() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("centro|kiosk");
+        }
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        assertEquals(0, rateLimiter.tryAcquire("centro|kiosk"));
+        assertTrue(rateLimiter.tryAcquire("centro|kiosk") > 0);
+    }
+
+    @Test
+    @DisplayName("Uma chave esgotada não deve afetar as demais")
+    void shouldIsolateKeys() {
+        for (int i = 0; i < 4; i++) {
+            rateLimiter.tryAcquire("centro-a|kiosk");
+        }
+
+        assertEquals(0, rateLimiter.tryAcquire("centro-b|kiosk"));
+        assertEquals(0, rateLimiter.tryAcquire("centro-a|outro-cliente"));
+    }
+
+    @Test
+    @DisplayName("Deve consumir uma ficha por unidade ao pedir várias de uma vez")
+    void shouldConsumeOnePermitPerUnit() {
+        assertEquals(0, rateLimiter.tryAcquire("kiosk", 3));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), rateLimiter.tryAcquire("kiosk"));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertTrue(rateLimiter.tryAcquire("kiosk", 3) > 0);
+        assertEquals(0, rateLimiter.tryAcquire("kiosk", 2));
+    }
+}
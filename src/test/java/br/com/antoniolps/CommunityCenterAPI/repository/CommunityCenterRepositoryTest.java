@@ -0,0 +1,167 @@
+package br.com.antoniolps.CommunityCenterAPI.repository;
+
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Requer um MongoDB em execução: ./mvnw test -Dmongodb.integration=true
+@SpringBootTest
+@EnabledIfSystemProperty(named = "mongodb.integration", matches = "true")
+@DisplayName("CommunityCenterRepository Integration Tests")
+class CommunityCenterRepositoryTest {
+
+    private static final String CURRENT_OCCUPANCY = "currentOccupancy";
+    private static final int CENTERS = 5000;
+    private static final int RUNS = 200;
+
+    @Autowired
+    private CommunityCenterRepository communityCenterRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final List<UUID> centerIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        List<CommunityCenter> centers = new ArrayList<>(CENTERS);
+        for (int i = 0; i < CENTERS; i++) {
+            int occupancy = ThreadLocalRandom.current().nextInt(1000);
+            centers.add(CommunityCenter.builder()
+                    .id(UUID.randomUUID())
+                    .name("Centro Índice " + i)
+                    .maxCapacity(1000)
+                    .currentOccupancy(occupancy)
+                    .occupancyRatio(occupancy / 1000.0)
+                    .build());
+        }
+        mongoTemplate.insertAll(centers).forEach(center -> centerIds.add(center.getId()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        communityCenterRepository.deleteAllById(centerIds);
+        // Garante o índice da entidade mesmo se o teste falhar entre a remoção e a recriação
+        ensureOccupancyIndex();
+    }
+
+    @Test
+    @DisplayName("O centro mais lotado deve vir do índice em currentOccupancy (IXSCAN), lendo um único documento")
+    void shouldAnswerHighestOccupancyFromIndex() {
+        IndexOperations indexOps = mongoTemplate.indexOps(CommunityCenter.class);
+        occupancyIndex(indexOps).ifPresent(index -> indexOps.dropIndex(index.getName()));
+
+        Document before = explainHighestOccupancy();
+        double beforeMillis = averageMillis();
+
+        ensureOccupancyIndex();
+
+        Document after = explainHighestOccupancy();
+        double afterMillis = averageMillis();
+
+        System.out.printf("Centro mais lotado com %d centros | sem índice: %d documentos lidos, %.2f ms | com índice: %d documentos lidos, %.2f ms%n",
+                CENTERS, totalDocsExamined(before), beforeMillis, totalDocsExamined(after), afterMillis);
+
+        assertFalse(before.toJson().contains("IXSCAN"));
+        assertTrue(totalDocsExamined(before) >= CENTERS);
+        assertTrue(after.toJson().contains("IXSCAN"));
+        assertFalse(after.toJson().contains("COLLSCAN"));
+        assertEquals(1, totalDocsExamined(after));
+    }
+
+    @Test
+    @DisplayName("Deve preencher a razão de ocupação e o flag full dos centros gravados sem eles")
+    void shouldBackfillOccupancyFields() {
+        UUID legacyId = UUID.randomUUID();
+        centerIds.add(legacyId);
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(CommunityCenter.class)).insertOne(
+                new Document("_id", legacyId).append("name", "Centro Antigo").append("maxCapacity", 40).append(CURRENT_OCCUPANCY, 40));
+
+        assertTrue(communityCenterRepository.backfillOccupancyFields() >= 1);
+
+        CommunityCenter legacy = communityCenterRepository.findById(legacyId).orElseThrow();
+        assertEquals(1.0, legacy.getOccupancyRatio());
+        assertTrue(legacy.isFull());
+        assertTrue(communityCenterRepository.findOccupancyByFullTrue().stream().anyMatch(center -> legacyId.equals(center.getId())));
+    }
+
+    // Recria o índice a partir das anotações da entidade, não de uma definição copiada
+    private void ensureOccupancyIndex() {
+        IndexOperations indexOps = mongoTemplate.indexOps(CommunityCenter.class);
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(
+                mongoTemplate.getConverter().getMappingContext());
+        for (IndexDefinition index : resolver.resolveIndexFor(CommunityCenter.class)) {
+            if (index.getIndexKeys().containsKey(CURRENT_OCCUPANCY)) {
+                indexOps.ensureIndex(index);
+            }
+        }
+    }
+
+    private Optional<IndexInfo> occupancyIndex(IndexOperations indexOps) {
+        return indexOps.getIndexInfo().stream()
+                .filter(index -> index.isIndexForFields(List.of(CURRENT_OCCUPANCY)))
+                .findFirst();
+    }
+
+    // Explica o mesmo pipeline que o repositório envia
+    private Document explainHighestOccupancy() {
+        Aggregation aggregation = CommunityCenterRepositoryCustomImpl.highestOccupancyAggregation();
+        Document aggregate = new Document("aggregate", mongoTemplate.getCollectionName(CommunityCenter.class))
+                .append("pipeline", aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT))
+                .append("cursor", new Document());
+
+        return mongoTemplate.getDb().runCommand(new Document("explain", aggregate)
+                .append("verbosity", "executionStats"));
+    }
+
+    private double averageMillis() {
+        for (int i = 0; i < RUNS / 10; i++) {
+            communityCenterRepository.findCenterWithHighestOccupancy();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            communityCenterRepository.findCenterWithHighestOccupancy();
+        }
+        return (System.nanoTime() - start) / 1e6 / RUNS;
+    }
+
+    // O formato do explain muda entre versões do MongoDB, então procura o campo em qualquer nível
+    private long totalDocsExamined(Object node) {
+        long examined = 0;
+        if (node instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if ("totalDocsExamined".equals(entry.getKey()) && entry.getValue() instanceof Number value) {
+                    examined = Math.max(examined, value.longValue());
+                } else {
+                    examined = Math.max(examined, totalDocsExamined(entry.getValue()));
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object item : list) {
+                examined = Math.max(examined, totalDocsExamined(item));
+            }
+        }
+        return examined;
+    }
+}
@@ -0,0 +1,140 @@
+package br.com.antoniolps.CommunityCenterAPI.repository;
+
+import br.com.antoniolps.CommunityCenterAPI.model.ExchangeHistory;
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceVector;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.util.json.ParameterBindingDocumentCodec;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Requer um MongoDB em execução: ./mvnw test -Dmongodb.integration=true
+@SpringBootTest
+@EnabledIfSystemProperty(named = "mongodb.integration", matches = "true")
+@DisplayName("ExchangeHistoryRepository Integration Tests")
+class ExchangeHistoryRepositoryTest {
+
+    @Autowired
+    private ExchangeHistoryRepository exchangeHistoryRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private String centerId;
+    private String otherCenterId;
+    private LocalDateTime fromDate;
+
+    @BeforeEach
+    void setUp() {
+        centerId = UUID.randomUUID().toString();
+        otherCenterId = UUID.randomUUID().toString();
+        fromDate = LocalDateTime.now().minusDays(1);
+
+        exchangeHistoryRepository.saveAll(List.of(
+                createExchangeHistory(centerId, otherCenterId, fromDate.minusDays(5)),
+                createExchangeHistory(centerId, otherCenterId, fromDate.plusHours(1)),
+                createExchangeHistory(otherCenterId, centerId, fromDate.minusDays(5)),
+                createExchangeHistory(otherCenterId, centerId, fromDate.plusHours(2))
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        exchangeHistoryRepository.deleteAll(exchangeHistoryRepository.findBySourceCenterIdOrTargetCenterId(centerId, centerId));
+    }
+
+    @Test
+    @DisplayName("Deve retornar apenas trocas após a data nos dois sentidos")
+    void shouldReturnOnlyExchangesAfterDateInBothDirections() {
+        List<ExchangeHistory> result = exchangeHistoryRepository.findByCenterIdAndTimestampAfter(centerId, fromDate);
+
+        assertEquals(2, result.size());
+        assertTrue(result.stream().allMatch(history -> history.getTimestamp().isAfter(fromDate)));
+    }
+
+    @Test
+    @DisplayName("Deve usar os índices compostos (IXSCAN) nos dois ramos do $or")
+    void shouldUseIndexScanForBothBranches() throws NoSuchMethodException {
+        // A mesma string do @Query do repositório, com os parâmetros ligados como o Spring Data faz
+        String queryString = ExchangeHistoryRepository.class
+                .getMethod("findByCenterIdAndTimestampAfter", String.class, LocalDateTime.class)
+                .getAnnotation(org.springframework.data.mongodb.repository.Query.class)
+                .value();
+        Document filter = new ParameterBindingDocumentCodec().decode(queryString,
+                new Object[]{centerId, mongoTemplate.getConverter().convertToMongoType(fromDate)});
+
+        String winningPlan = winningPlan(new BasicQuery(filter));
+
+        assertTrue(winningPlan.contains("IXSCAN"));
+        assertFalse(winningPlan.contains("COLLSCAN"));
+        assertTrue(winningPlan.contains("source_timestamp_id_idx"));
+        assertTrue(winningPlan.contains("target_timestamp_id_idx"));
+    }
+
+    @Test
+    @DisplayName("A paginação por (timestamp, id) deve vir ordenada dos índices, sem estágio SORT bloqueante")
+    void shouldPageWithoutBlockingSort() {
+        List<ExchangeHistory> firstPage = exchangeHistoryRepository.findPageByCenterId(centerId, null, null, 2);
+        ExchangeHistory last = firstPage.get(firstPage.size() - 1);
+
+        for (Query query : List.of(
+                ExchangeHistoryRepositoryCustomImpl.pageQuery(centerId, null, null, 2),
+                ExchangeHistoryRepositoryCustomImpl.pageQuery(centerId, last.getTimestamp(), last.getId(), 2))) {
+            String winningPlan = winningPlan(query);
+
+            assertTrue(winningPlan.contains("IXSCAN"));
+            assertFalse(winningPlan.contains("COLLSCAN"));
+            assertFalse(winningPlan.contains("\"SORT\""));
+        }
+    }
+
+    // Explica a mesma consulta que o repositório envia, com os nomes de campo e valores já mapeados
+    private String winningPlan(Query query) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(ExchangeHistory.class);
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+
+        Document find = new Document("find", mongoTemplate.getCollectionName(ExchangeHistory.class))
+                .append("filter", queryMapper.getMappedObject(query.getQueryObject(), entity));
+        if (query.isSorted()) {
+            find.append("sort", queryMapper.getMappedSort(query.getSortObject(), entity));
+        }
+        if (query.isLimited()) {
+            find.append("limit", query.getLimit());
+        }
+
+        Document explain = mongoTemplate.getDb().runCommand(new Document("explain", find)
+                .append("verbosity", "queryPlanner"));
+
+        return explain.get("queryPlanner", Document.class)
+                .get("winningPlan", Document.class)
+                .toJson();
+    }
+
+    private ExchangeHistory createExchangeHistory(String sourceCenterId, String targetCenterId, LocalDateTime timestamp) {
+        return ExchangeHistory.builder()
+                .id(UUID.randomUUID())
+                .sourceCenterId(sourceCenterId)
+                .targetCenterId(targetCenterId)
+                .resourcesGiven(ResourceVector.of(ResourceTypeEnum.VOLUNTARIO, 2))
+                .resourcesReceived(ResourceVector.of(ResourceTypeEnum.CESTA_BASICA, 3))
+                .timestamp(timestamp)
+                .build();
+    }
+}
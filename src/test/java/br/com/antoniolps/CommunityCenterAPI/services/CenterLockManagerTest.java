@@ -0,0 +1,105 @@
+package br.com.antoniolps.CommunityCenterAPI.services;
+
+import br.com.antoniolps.CommunityCenterAPI.service.CenterLockManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CenterLockManager Tests")
+class CenterLockManagerTest {
+
+    private static final int THREADS = 16;
+    private static final int ITERATIONS = 2000;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CenterLockManager lockManager;
+
+    // Hash 1 e 2: caem em faixas diferentes
+    private final UUID centerA = new UUID(0, 1);
+    private final UUID centerB = new UUID(0, 2);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lockManager = new CenterLockManager(16, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Deve serializar trocas que compartilham centros, em qualquer ordem, sem deadlock")
+    void shouldSerializeConflictingExchangesWithoutDeadlock() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            List<UUID> centers = i % 2 == 0 ? List.of(centerA, centerB) : List.of(centerB, centerA);
+            futures.add(executor.submit(() -> lockManager.runLocked(centers, () -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                inFlight.decrementAndGet();
+            })));
+        }
+
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(1, maxInFlight.get());
+        assertEquals(ITERATIONS, meterRegistry.get("exchange.lock.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("Deve permitir trocas em centros distintos ao mesmo tempo")
+    void shouldRunDisjointExchangesInParallel() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch bothInside = new CountDownLatch(2);
+
+        Runnable waitForOther = () -> {
+            bothInside.countDown();
+            try {
+                assertTrue(bothInside.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        Future<?> first = executor.submit(() -> lockManager.runLocked(List.of(centerA), waitForOther));
+        Future<?> second = executor.submit(() -> lockManager.runLocked(List.of(centerB), waitForOther));
+
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertEquals(0, bothInside.getCount());
+    }
+
+    @Test
+    @DisplayName("Deve liberar as travas quando a troca falha")
+    void shouldReleaseLocksWhenWorkFails() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> lockManager.runLocked(List.of(centerA, centerB), () -> {
+            throw new IllegalArgumentException("Recursos insuficientes no centro de origem.");
+        }));
+
+        // As travas são reentrantes, então a verificação precisa vir de outra thread
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicInteger runs = new AtomicInteger();
+        executor.submit(() -> lockManager.runLocked(List.of(centerB, centerA), runs::incrementAndGet))
+                .get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertEquals(1, runs.get());
+    }
+}
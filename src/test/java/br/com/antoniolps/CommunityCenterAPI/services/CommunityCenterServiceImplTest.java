@@ -2,10 +2,24 @@ package br.com.antoniolps.CommunityCenterAPI.services;
 
 import br.com.antoniolps.CommunityCenterAPI.model.Address;
 import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.CenterOccupancyResult;
 import br.com.antoniolps.CommunityCenterAPI.model.dtos.CommunityCenterRequest;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.NearbyCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.OccupancyBatchResult;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.OccupancyEvent;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.OccupancyUpdate;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ResourceStatistics;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.OccupancyRankingEnum;
 import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import br.com.antoniolps.CommunityCenterAPI.model.projections.CenterOccupancy;
+import br.com.antoniolps.CommunityCenterAPI.notification.OccupancyChangedEvent;
 import br.com.antoniolps.CommunityCenterAPI.repository.CommunityCenterRepository;
 import br.com.antoniolps.CommunityCenterAPI.service.CommunityCenterServiceImpl;
+import br.com.antoniolps.CommunityCenterAPI.service.ResourceSummaryService;
+import br.com.antoniolps.CommunityCenterAPI.service.ServiceMetrics;
+import br.com.antoniolps.CommunityCenterAPI.stream.CommunityCenterChangedEvent;
+import br.com.antoniolps.CommunityCenterAPI.stream.CommunityCenterStateView;
+import br.com.antoniolps.CommunityCenterAPI.stream.OccupancyLeaderboard;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,13 +27,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 
-import java.io.ByteArrayOutputStream;
-import java.io.PrintStream;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +47,21 @@ class CommunityCenterServiceImplTest {
     @Mock
     private CommunityCenterRepository communityCenterRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ObjectProvider<CommunityCenterStateView> stateView;
+
+    @Mock
+    private OccupancyLeaderboard leaderboard;
+
+    @Mock
+    private ResourceSummaryService resourceSummaryService;
+
+    @Mock
+    private ServiceMetrics serviceMetrics;
+
     @InjectMocks
     private CommunityCenterServiceImpl communityCenterService;
 
@@ -67,6 +100,35 @@ class CommunityCenterServiceImplTest {
         validRequest.setResources(createResourceMap());
     }
 
+    private CenterOccupancy occupancy(UUID id, int currentOccupancy, int maxCapacity) {
+        return new CenterOccupancy() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return "Centro " + id;
+            }
+
+            @Override
+            public int getCurrentOccupancy() {
+                return currentOccupancy;
+            }
+
+            @Override
+            public int getMaxCapacity() {
+                return maxCapacity;
+            }
+
+            @Override
+            public long getOccupancyVersion() {
+                return 0;
+            }
+        };
+    }
+
     private Map<ResourceTypeEnum, Integer> createResourceMap() {
         Map<ResourceTypeEnum, Integer> resources = new HashMap<>();
         resources.put(ResourceTypeEnum.VOLUNTARIO, 10);
@@ -83,7 +145,24 @@ class CommunityCenterServiceImplTest {
 
         assertDoesNotThrow(() -> communityCenterService.addCenter(validRequest));
 
-        verify(communityCenterRepository, times(1)).save(any(CommunityCenter.class));
+        verify(communityCenterRepository, times(1)).save(argThat((CommunityCenter center) -> center.getId() != null
+                && center.getLocation().getX() == address.getLongitude()
+                && center.getLocation().getY() == address.getLatitude()));
+        verify(resourceSummaryService, times(1)).recordCenterAdded(validRequest.getResources());
+        verify(eventPublisher, times(1)).publishEvent(any(CommunityCenterChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Com change streams habilitados, criação e remoção devem ser publicadas só pelo stream")
+    void shouldLeaveCenterChangedEventsToChangeStream() {
+        when(stateView.getIfAvailable()).thenReturn(new CommunityCenterStateView());
+        when(communityCenterRepository.save(any(CommunityCenter.class))).thenReturn(communityCenter);
+        when(communityCenterRepository.findById(centerId)).thenReturn(Optional.of(communityCenter));
+
+        communityCenterService.addCenter(validRequest);
+        communityCenterService.deleteCenter(centerId.toString());
+
+        verify(eventPublisher, never()).publishEvent(any(CommunityCenterChangedEvent.class));
     }
 
     @Test
@@ -136,45 +215,33 @@ class CommunityCenterServiceImplTest {
     @DisplayName("Deve atualizar ocupação com sucesso")
     void shouldUpdateOccupancySuccessfully() {
         int newOccupancy = 75;
-        when(communityCenterRepository.findById(centerId)).thenReturn(Optional.of(communityCenter));
-        when(communityCenterRepository.save(any(CommunityCenter.class))).thenReturn(communityCenter);
+        communityCenter.setCurrentOccupancy(newOccupancy);
+        when(communityCenterRepository.setOccupancy(centerId, newOccupancy)).thenReturn(Optional.of(communityCenter));
 
         assertDoesNotThrow(() -> communityCenterService.updateOccupancy(centerId.toString(), newOccupancy));
 
-        verify(communityCenterRepository, times(1)).findById(centerId);
-        verify(communityCenterRepository, times(1)).save(communityCenter);
-        assertEquals(newOccupancy, communityCenter.getCurrentOccupancy());
+        verify(communityCenterRepository, times(1)).setOccupancy(centerId, newOccupancy);
+        verify(communityCenterRepository, never()).findById(any());
+        verify(communityCenterRepository, never()).save(any(CommunityCenter.class));
+        verify(serviceMetrics, times(1)).occupancyWritten("update", 1);
     }
 
     @Test
-    @DisplayName("Deve gerar notificação quando ocupação atingir capacidade máxima")
-    void shouldGenerateNotificationWhenOccupancyReachesMaxCapacity() {
+    @DisplayName("Deve publicar evento de ocupação ao atingir capacidade máxima")
+    void shouldPublishEventWhenOccupancyReachesMaxCapacity() {
         int maxCapacity = communityCenter.getMaxCapacity();
-        when(communityCenterRepository.findById(centerId)).thenReturn(Optional.of(communityCenter));
-        when(communityCenterRepository.save(any(CommunityCenter.class))).thenReturn(communityCenter);
-
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        PrintStream originalOut = System.out;
-        System.setOut(new PrintStream(outputStream));
-
-        try {
-            communityCenterService.updateOccupancy(centerId.toString(), maxCapacity);
+        when(communityCenterRepository.setOccupancy(centerId, maxCapacity)).thenReturn(Optional.of(communityCenter));
 
-            String output = outputStream.toString();
-            assertTrue(output.contains("Alerta: O centro comunitário " + communityCenter.getName() + " atingiu sua capacidade máxima."));
-            assertEquals(maxCapacity, communityCenter.getCurrentOccupancy());
-        } finally {
-            System.setOut(originalOut);
-        }
+        communityCenterService.updateOccupancy(centerId.toString(), maxCapacity);
 
-        verify(communityCenterRepository, times(1)).save(communityCenter);
+        verify(eventPublisher, times(1)).publishEvent(
+                new OccupancyChangedEvent(centerId, communityCenter.getName(), maxCapacity, maxCapacity, 0));
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao tentar atualizar ocupação com valor negativo")
     void shouldThrowExceptionWhenUpdatingOccupancyWithNegativeValue() {
         int invalidOccupancy = -5;
-        when(communityCenterRepository.findById(centerId)).thenReturn(Optional.of(communityCenter));
 
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
@@ -183,14 +250,16 @@ class CommunityCenterServiceImplTest {
 
         assertEquals("Ocupação inválida: deve ser entre 0 e a capacidade máxima do centro comunitário.",
                 exception.getMessage());
-        verify(communityCenterRepository, never()).save(any(CommunityCenter.class));
+        verify(communityCenterRepository, never()).setOccupancy(any(), anyInt());
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao tentar atualizar ocupação acima da capacidade máxima")
     void shouldThrowExceptionWhenUpdatingOccupancyAboveMaxCapacity() {
         int invalidOccupancy = 150;
-        when(communityCenterRepository.findById(centerId)).thenReturn(Optional.of(communityCenter));
+        when(communityCenterRepository.setOccupancy(centerId, invalidOccupancy)).thenReturn(Optional.empty());
+        when(communityCenterRepository.existsById(centerId)).thenReturn(true);
+
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
                 () -> communityCenterService.updateOccupancy(centerId.toString(), invalidOccupancy)
@@ -198,13 +267,14 @@ class CommunityCenterServiceImplTest {
 
         assertEquals("Ocupação inválida: deve ser entre 0 e a capacidade máxima do centro comunitário.",
                 exception.getMessage());
-        verify(communityCenterRepository, never()).save(any(CommunityCenter.class));
+        verify(eventPublisher, never()).publishEvent(any(OccupancyChangedEvent.class));
     }
 
     @Test
     @DisplayName("Deve lançar exceção quando centro não for encontrado para atualização")
     void shouldThrowExceptionWhenCenterNotFoundForUpdate() {
-        when(communityCenterRepository.findById(centerId)).thenReturn(Optional.empty());
+        when(communityCenterRepository.setOccupancy(centerId, 50)).thenReturn(Optional.empty());
+        when(communityCenterRepository.existsById(centerId)).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
@@ -216,44 +286,171 @@ class CommunityCenterServiceImplTest {
     }
 
     @Test
-    @DisplayName("Deve executar notificação de capacidade máxima para todos os centros")
-    void shouldPerformMaxCapacityNotificationForAllCenters() {
-        CommunityCenter centerAtMaxCapacity = CommunityCenter.builder()
-                .name("Centro Lotado")
-                .maxCapacity(50)
-                .currentOccupancy(50)
-                .build();
+    @DisplayName("Deve ajustar ocupação de forma incremental e retornar o novo valor")
+    void shouldAdjustOccupancyIncrementally() {
+        communityCenter.setCurrentOccupancy(53);
+        when(communityCenterRepository.incrementOccupancy(centerId, 3)).thenReturn(Optional.of(communityCenter));
 
-        CommunityCenter centerBelowMaxCapacity = CommunityCenter.builder()
-                .name("Centro Normal")
-                .maxCapacity(80)
-                .currentOccupancy(40)
-                .build();
+        int newOccupancy = communityCenterService.adjustOccupancy(centerId.toString(), 3);
+
+        assertEquals(53, newOccupancy);
+        verify(communityCenterRepository, never()).findById(any());
+        verify(communityCenterRepository, never()).save(any(CommunityCenter.class));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar ajuste de ocupação que ultrapasse os limites do centro")
+    void shouldRejectOccupancyAdjustmentOutOfBounds() {
+        when(communityCenterRepository.incrementOccupancy(centerId, 60)).thenReturn(Optional.empty());
+        when(communityCenterRepository.existsById(centerId)).thenReturn(true);
+
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> communityCenterService.adjustOccupancy(centerId.toString(), 60)
+        );
+
+        assertEquals("Ocupação inválida: deve ser entre 0 e a capacidade máxima do centro comunitário.",
+                exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao ajustar ocupação de centro inexistente")
+    void shouldThrowExceptionWhenAdjustingOccupancyOfMissingCenter() {
+        when(communityCenterRepository.incrementOccupancy(centerId, -1)).thenReturn(Optional.empty());
+        when(communityCenterRepository.existsById(centerId)).thenReturn(false);
+
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> communityCenterService.adjustOccupancy(centerId.toString(), -1)
+        );
+
+        assertEquals("Centro comunitário não encontrado", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve consolidar eventos de ocupação por centro e aplicá-los em um único bulkWrite")
+    void shouldCoalesceOccupancyEventsPerCenter() {
+        String unknownCenterId = UUID.randomUUID().toString();
+        List<OccupancyEvent> events = List.of(
+                new OccupancyEvent(centerId.toString(), 5),
+                new OccupancyEvent(centerId.toString(), 60),
+                new OccupancyEvent(centerId.toString(), -3),
+                new OccupancyEvent(unknownCenterId, 1)
+        );
+
+        when(communityCenterRepository.findOccupancyByIdIn(any())).thenReturn(List.of(occupancy(centerId, 50, 100)));
+        when(communityCenterRepository.bulkIncrementOccupancy(eq(Map.of(centerId, 2)), anyMap())).thenReturn(Set.of(centerId));
+
+        OccupancyBatchResult result = communityCenterService.ingestOccupancyEvents(events);
+
+        assertEquals(2, result.getAcceptedEvents());
+        assertEquals(2, result.getRejectedEvents());
+        assertEquals(2, result.getCenters().size());
+
+        CenterOccupancyResult center = result.getCenters().get(0);
+        assertEquals(centerId.toString(), center.getCenterId());
+        assertEquals(2, center.getAppliedDelta());
+        assertEquals(1, center.getRejectedEvents());
+        assertEquals(52, center.getCurrentOccupancy());
+        assertFalse(center.isConflicted());
+
+        CenterOccupancyResult unknown = result.getCenters().get(1);
+        assertEquals(unknownCenterId, unknown.getCenterId());
+        assertEquals(1, unknown.getRejectedEvents());
+        assertNull(unknown.getCurrentOccupancy());
+
+        verify(communityCenterRepository, times(1)).bulkIncrementOccupancy(eq(Map.of(centerId, 2)), anyMap());
+        verify(communityCenterRepository, never()).save(any(CommunityCenter.class));
+    }
+
+    @Test
+    @DisplayName("Deve marcar como conflitante o centro alterado durante o bulkWrite")
+    void shouldReportConflictWhenCenterChangedDuringBulkWrite() {
+        List<OccupancyEvent> events = List.of(new OccupancyEvent(centerId.toString(), 5));
+
+        when(communityCenterRepository.findOccupancyByIdIn(any()))
+                .thenReturn(List.of(occupancy(centerId, 95, 100)))
+                .thenReturn(List.of(occupancy(centerId, 98, 100)));
+        when(communityCenterRepository.bulkIncrementOccupancy(eq(Map.of(centerId, 5)), anyMap())).thenReturn(Set.of());
+
+        OccupancyBatchResult result = communityCenterService.ingestOccupancyEvents(events);
+
+        CenterOccupancyResult center = result.getCenters().get(0);
+        assertTrue(center.isConflicted());
+        assertEquals(0, center.getAppliedDelta());
+        assertEquals(98, center.getCurrentOccupancy());
+        assertEquals(0, result.getAcceptedEvents());
+        assertEquals(1, result.getRejectedEvents());
+        verify(eventPublisher, never()).publishEvent(any(OccupancyChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar os eventos dos centros que o bulkWrite não alterou e publicar só os aplicados")
+    void shouldRejectEventsOfCentersNotMatchedByBulkWrite() {
+        UUID otherCenterId = UUID.randomUUID();
+        List<OccupancyEvent> events = List.of(
+                new OccupancyEvent(centerId.toString(), 5),
+                new OccupancyEvent(otherCenterId.toString(), 2),
+                new OccupancyEvent(otherCenterId.toString(), 3)
+        );
+
+        when(communityCenterRepository.findOccupancyByIdIn(any()))
+                .thenReturn(List.of(occupancy(centerId, 50, 100), occupancy(otherCenterId, 90, 100)))
+                .thenReturn(List.of(occupancy(otherCenterId, 99, 100)));
+        when(communityCenterRepository.bulkIncrementOccupancy(eq(Map.of(centerId, 5, otherCenterId, 5)), anyMap()))
+                .thenReturn(Set.of(centerId));
 
-        List<CommunityCenter> centers = Arrays.asList(centerAtMaxCapacity, centerBelowMaxCapacity);
+        OccupancyBatchResult result = communityCenterService.ingestOccupancyEvents(events);
 
-        when(communityCenterRepository.findByCurrentOccupancyGreaterThan(0)).thenReturn(centers);
+        assertEquals(1, result.getAcceptedEvents());
+        assertEquals(2, result.getRejectedEvents());
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        PrintStream originalOut = System.out;
-        System.setOut(new PrintStream(outputStream));
+        CenterOccupancyResult applied = result.getCenters().get(0);
+        assertEquals(5, applied.getAppliedDelta());
+        assertEquals(55, applied.getCurrentOccupancy());
+        assertFalse(applied.isConflicted());
 
-        try {
-            communityCenterService.performMaxCapacityNotification();
+        CenterOccupancyResult unmatched = result.getCenters().get(1);
+        assertEquals(otherCenterId.toString(), unmatched.getCenterId());
+        assertEquals(0, unmatched.getAppliedDelta());
+        assertEquals(2, unmatched.getRejectedEvents());
+        assertEquals(99, unmatched.getCurrentOccupancy());
+        assertTrue(unmatched.isConflicted());
 
-            String output = outputStream.toString();
-            assertTrue(output.contains("Alerta: O centro comunitário Centro Lotado atingiu sua capacidade máxima."));
-            assertFalse(output.contains("Centro Normal"));
-        } finally {
-            System.setOut(originalOut);
-        }
+        verify(serviceMetrics, times(1)).occupancyWritten("batch", 1);
+        verify(eventPublisher, times(1)).publishEvent(new OccupancyChangedEvent(centerId, "Centro " + centerId, 55, 100, 1));
+        verify(eventPublisher, times(1)).publishEvent(any(OccupancyChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar lote de eventos vazio")
+    void shouldRejectEmptyOccupancyEventBatch() {
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> communityCenterService.ingestOccupancyEvents(List.of())
+        );
+
+        assertEquals("Lote de eventos inválido: deve conter entre 1 e 10000 eventos.", exception.getMessage());
+        verify(communityCenterRepository, never()).bulkIncrementOccupancy(anyMap(), anyMap());
+    }
+
+    @Test
+    @DisplayName("Deve reconciliar apenas os centros marcados como lotados")
+    void shouldReconcileOnlyCentersFlaggedAsFull() {
+        UUID fullCenterId = UUID.randomUUID();
+        when(communityCenterRepository.findOccupancyByFullTrue()).thenReturn(List.of(occupancy(fullCenterId, 50, 50)));
+
+        communityCenterService.performMaxCapacityNotification();
+
+        verify(eventPublisher, times(1)).publishEvent(new OccupancyChangedEvent(fullCenterId, "Centro " + fullCenterId, 50, 50, 0));
+        verify(communityCenterRepository, never()).findByCurrentOccupancyGreaterThan(anyInt());
+        verify(communityCenterRepository, never()).findAll();
     }
 
     @Test
     @DisplayName("Deve retornar true quando centro estiver lotado")
     void shouldReturnTrueWhenCenterIsFull() {
-        communityCenter.setCurrentOccupancy(communityCenter.getMaxCapacity());
-        when(communityCenterRepository.findById(centerId)).thenReturn(Optional.of(communityCenter));
+        when(communityCenterRepository.findOccupancyById(centerId)).thenReturn(Optional.of(occupancy(centerId, 100, 100)));
 
         boolean isFull = communityCenterService.isCenterFull(centerId);
 
@@ -263,18 +460,39 @@ class CommunityCenterServiceImplTest {
     @Test
     @DisplayName("Deve retornar false quando centro não estiver lotado")
     void shouldReturnFalseWhenCenterIsNotFull() {
-        communityCenter.setCurrentOccupancy(50);
-        when(communityCenterRepository.findById(centerId)).thenReturn(Optional.of(communityCenter));
+        when(communityCenterRepository.findOccupancyById(centerId)).thenReturn(Optional.of(occupancy(centerId, 50, 100)));
 
         boolean isFull = communityCenterService.isCenterFull(centerId);
 
         assertFalse(isFull);
+        verify(communityCenterRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Deve verificar lotação de vários centros em uma única consulta")
+    void shouldCheckIfManyCentersAreFullInSingleQuery() {
+        UUID fullCenterId = UUID.randomUUID();
+        UUID missingCenterId = UUID.randomUUID();
+        List<UUID> ids = List.of(centerId, fullCenterId, missingCenterId);
+
+        when(communityCenterRepository.findOccupancyByIdIn(ids)).thenReturn(List.of(
+                occupancy(centerId, 50, 100),
+                occupancy(fullCenterId, 80, 80)
+        ));
+
+        Map<UUID, Boolean> result = communityCenterService.areCentersFull(ids);
+
+        assertEquals(2, result.size());
+        assertFalse(result.get(centerId));
+        assertTrue(result.get(fullCenterId));
+        assertFalse(result.containsKey(missingCenterId));
+        verify(communityCenterRepository, times(1)).findOccupancyByIdIn(ids);
     }
 
     @Test
     @DisplayName("Deve lançar exceção quando centro não for encontrado para verificar se está lotado")
     void shouldThrowExceptionWhenCenterNotFoundForFullCheck() {
-        when(communityCenterRepository.findById(centerId)).thenReturn(Optional.empty());
+        when(communityCenterRepository.findOccupancyById(centerId)).thenReturn(Optional.empty());
 
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
@@ -328,6 +546,8 @@ class CommunityCenterServiceImplTest {
 
         verify(communityCenterRepository, times(1)).findById(centerId);
         verify(communityCenterRepository, times(1)).delete(communityCenter);
+        verify(resourceSummaryService, times(1)).recordCenterRemoved(communityCenter.getResourceMap());
+        verify(eventPublisher, times(1)).publishEvent(new CommunityCenterChangedEvent(centerId, null));
     }
 
     @Test
@@ -347,14 +567,9 @@ class CommunityCenterServiceImplTest {
     @Test
     @DisplayName("Deve retornar centro com maior ocupação")
     void shouldReturnCenterWithHighestOccupancy() {
-        CommunityCenter centerWithLowOccupancy = CommunityCenter.builder()
-                .currentOccupancy(20)
-                .build();
-
         communityCenter.setCurrentOccupancy(80);
 
-        List<CommunityCenter> centers = Arrays.asList(centerWithLowOccupancy, communityCenter);
-        when(communityCenterRepository.findAll()).thenReturn(centers);
+        when(communityCenterRepository.findCenterWithHighestOccupancy()).thenReturn(Optional.of(communityCenter));
 
         CommunityCenter result = communityCenterService.listCenterWithHighestOccupancy();
 
@@ -362,10 +577,91 @@ class CommunityCenterServiceImplTest {
         assertEquals(80, result.getCurrentOccupancy());
     }
 
+    @Test
+    @DisplayName("Deve responder maior ocupação e limite de 90% pelo view em memória quando disponível")
+    void shouldAnswerFromStateViewWhenReady() {
+        CommunityCenterStateView view = new CommunityCenterStateView();
+        communityCenter.setCurrentOccupancy(95);
+        view.load(List.of(communityCenter));
+        when(stateView.getIfAvailable()).thenReturn(view);
+
+        assertEquals(communityCenter, communityCenterService.listCenterWithHighestOccupancy());
+        assertEquals(List.of(communityCenter), communityCenterService.getCentersWithOccupancyGreaterThanNinetyPercent());
+
+        verify(communityCenterRepository, never()).findCenterWithHighestOccupancy();
+        verify(communityCenterRepository, never()).findByOccupancyRatioGreaterThan(anyDouble());
+    }
+
+    @Test
+    @DisplayName("Sem change streams, deve buscar o centro de maior ocupação no MongoDB e não no ranking em memória")
+    void shouldNotAnswerHighestOccupancyFromLeaderboard() {
+        when(communityCenterRepository.findCenterWithHighestOccupancy()).thenReturn(Optional.of(communityCenter));
+
+        assertEquals(communityCenter, communityCenterService.listCenterWithHighestOccupancy());
+        verify(leaderboard, never()).top(anyInt(), any());
+        verify(communityCenterRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar os k centros mais ocupados pelo critério informado")
+    void shouldReturnTopCentersByRanking() {
+        List<OccupancyUpdate> top = List.of(OccupancyUpdate.builder().centerId(centerId).build());
+        when(leaderboard.top(5, OccupancyRankingEnum.RATIO)).thenReturn(top);
+
+        assertEquals(top, communityCenterService.getTopCenters(5, "ratio"));
+    }
+
+    @Test
+    @DisplayName("Deve buscar centros próximos com vaga e recurso disponível via $geoNear")
+    void shouldFindNearestCentersWithCapacityAndResource() {
+        NearbyCenter nearby = new NearbyCenter();
+        nearby.setId(centerId);
+        nearby.setDistanceInMeters(850);
+        GeoJsonPoint point = new GeoJsonPoint(-34.8450, -7.1195);
+        when(communityCenterRepository.findNearestAvailable(point, 1, ResourceTypeEnum.MEDICO, 2, 5000.0, 5))
+                .thenReturn(List.of(nearby));
+
+        List<NearbyCenter> result = communityCenterService.findNearestCenters(-7.1195, -34.8450, 1,
+                ResourceTypeEnum.MEDICO, 2, 5000.0, 5);
+
+        assertEquals(List.of(nearby), result);
+        verify(communityCenterRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando coordenadas da busca forem inválidas")
+    void shouldThrowExceptionWhenNearestCoordinatesAreInvalid() {
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> communityCenterService.findNearestCenters(95, -34.8450, 1, null, 1, null, 5)
+        );
+
+        assertEquals("Coordenadas inválidas: latitude deve estar entre -90 e 90 e longitude entre -180 e 180.",
+                exception.getMessage());
+        verify(communityCenterRepository, never()).findNearestAvailable(any(), anyInt(), any(), anyInt(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando k ou critério do ranking forem inválidos")
+    void shouldThrowExceptionWhenTopParametersAreInvalid() {
+        IllegalArgumentException invalidK = assertThrows(
+                IllegalArgumentException.class,
+                () -> communityCenterService.getTopCenters(0, "absolute")
+        );
+        IllegalArgumentException invalidRanking = assertThrows(
+                IllegalArgumentException.class,
+                () -> communityCenterService.getTopCenters(10, "percentual")
+        );
+
+        assertEquals("Valor de k inválido: deve ser entre 1 e 1000.", invalidK.getMessage());
+        assertEquals("Critério de ranking inválido: use absolute ou ratio.", invalidRanking.getMessage());
+        verify(leaderboard, never()).top(anyInt(), any());
+    }
+
     @Test
     @DisplayName("Deve lançar exceção quando não há centros para encontrar o de maior ocupação")
     void shouldThrowExceptionWhenNoCentersFoundForHighestOccupancy() {
-        when(communityCenterRepository.findAll()).thenReturn(Collections.emptyList());
+        when(communityCenterRepository.findCenterWithHighestOccupancy()).thenReturn(Optional.empty());
 
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
@@ -381,15 +677,10 @@ class CommunityCenterServiceImplTest {
         CommunityCenter centerWithHighOccupancy = CommunityCenter.builder()
                 .maxCapacity(100)
                 .currentOccupancy(95) // 95%
+                .occupancyRatio(0.95)
                 .build();
 
-        CommunityCenter centerWithLowOccupancy = CommunityCenter.builder()
-                .maxCapacity(100)
-                .currentOccupancy(80) // 80%
-                .build();
-
-        List<CommunityCenter> allCenters = Arrays.asList(centerWithHighOccupancy, centerWithLowOccupancy);
-        when(communityCenterRepository.findByCurrentOccupancyGreaterThan(0)).thenReturn(allCenters);
+        when(communityCenterRepository.findByOccupancyRatioGreaterThan(0.9)).thenReturn(List.of(centerWithHighOccupancy));
 
         List<CommunityCenter> result = communityCenterService.getCentersWithOccupancyGreaterThanNinetyPercent();
 
@@ -400,13 +691,7 @@ class CommunityCenterServiceImplTest {
     @Test
     @DisplayName("Deve retornar lista vazia quando não há centros com ocupação maior que 90%")
     void shouldReturnEmptyListWhenNoCentersWithHighOccupancy() {
-        CommunityCenter centerWithLowOccupancy = CommunityCenter.builder()
-                .maxCapacity(100)
-                .currentOccupancy(80) // 80%
-                .build();
-
-        List<CommunityCenter> allCenters = Arrays.asList(centerWithLowOccupancy);
-        when(communityCenterRepository.findByCurrentOccupancyGreaterThan(0)).thenReturn(allCenters);
+        when(communityCenterRepository.findByOccupancyRatioGreaterThan(0.9)).thenReturn(Collections.emptyList());
 
         List<CommunityCenter> result = communityCenterService.getCentersWithOccupancyGreaterThanNinetyPercent();
 
@@ -414,26 +699,37 @@ class CommunityCenterServiceImplTest {
     }
 
     @Test
-    @DisplayName("Deve calcular média de recursos por tipo corretamente")
-    void shouldCalculateAverageResourcesPerTypeCorrectly() {
-        CommunityCenter center1 = CommunityCenter.builder()
-                .resourceMap(Map.of(
-                        ResourceTypeEnum.VOLUNTARIO, 10,
-                        ResourceTypeEnum.KIT_MEDICO, 5,
-                        ResourceTypeEnum.MEDICO, 2
-                ))
-                .build();
+    @DisplayName("Deve buscar centros acima de um limite de ocupação configurável")
+    void shouldReturnCentersWithOccupancyRatioGreaterThanThreshold() {
+        when(communityCenterRepository.findByOccupancyRatioGreaterThan(0.75)).thenReturn(List.of(communityCenter));
 
-        CommunityCenter center2 = CommunityCenter.builder()
-                .resourceMap(Map.of(
-                        ResourceTypeEnum.VOLUNTARIO, 20,
-                        ResourceTypeEnum.KIT_MEDICO, 15,
-                        ResourceTypeEnum.VEICULO, 8
-                ))
-                .build();
+        List<CommunityCenter> result = communityCenterService.getCentersWithOccupancyRatioGreaterThan(0.75);
 
-        List<CommunityCenter> centers = Arrays.asList(center1, center2);
-        when(communityCenterRepository.findAll()).thenReturn(centers);
+        assertEquals(1, result.size());
+        verify(communityCenterRepository, never()).findByCurrentOccupancyGreaterThan(anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando limite de ocupação for inválido")
+    void shouldThrowExceptionWhenOccupancyThresholdIsInvalid() {
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> communityCenterService.getCentersWithOccupancyRatioGreaterThan(1.5)
+        );
+
+        assertEquals("Limite de ocupação inválido: deve ser entre 0 e 1.", exception.getMessage());
+        verify(communityCenterRepository, never()).findByOccupancyRatioGreaterThan(anyDouble());
+    }
+
+    @Test
+    @DisplayName("Deve retornar média de recursos por tipo a partir do resumo mantido incrementalmente")
+    void shouldCalculateAverageResourcesPerTypeCorrectly() {
+        when(resourceSummaryService.getStatistics()).thenReturn(Map.of(
+                ResourceTypeEnum.VOLUNTARIO, statistics(15.0),
+                ResourceTypeEnum.KIT_MEDICO, statistics(10.0),
+                ResourceTypeEnum.MEDICO, statistics(2.0),
+                ResourceTypeEnum.VEICULO, statistics(8.0)
+        ));
 
         Map<ResourceTypeEnum, Double> result = communityCenterService.getAverageResourcesPerType();
 
@@ -441,12 +737,17 @@ class CommunityCenterServiceImplTest {
         assertEquals(10.0, result.get(ResourceTypeEnum.KIT_MEDICO), 0.001);
         assertEquals(2.0, result.get(ResourceTypeEnum.MEDICO), 0.001);
         assertEquals(8.0, result.get(ResourceTypeEnum.VEICULO), 0.001);
+        verifyNoInteractions(communityCenterRepository);
+    }
+
+    private ResourceStatistics statistics(double average) {
+        return ResourceStatistics.builder().average(average).build();
     }
 
     @Test
     @DisplayName("Deve retornar mapa vazio quando não há centros para calcular média de recursos")
     void shouldReturnEmptyMapWhenNoCentersForAverageResources() {
-        when(communityCenterRepository.findAll()).thenReturn(Collections.emptyList());
+        when(resourceSummaryService.getStatistics()).thenReturn(Collections.emptyMap());
 
         Map<ResourceTypeEnum, Double> result = communityCenterService.getAverageResourcesPerType();
 
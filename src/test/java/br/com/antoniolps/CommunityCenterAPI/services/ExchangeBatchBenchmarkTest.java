@@ -0,0 +1,101 @@
+package br.com.antoniolps.CommunityCenterAPI.services;
+
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeRequest;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import br.com.antoniolps.CommunityCenterAPI.repository.CommunityCenterRepository;
+import br.com.antoniolps.CommunityCenterAPI.repository.ExchangeHistoryRepository;
+import br.com.antoniolps.CommunityCenterAPI.service.ExchangeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Requer um MongoDB em execução: ./mvnw test -Dmongodb.integration=true
+@SpringBootTest
+@EnabledIfSystemProperty(named = "mongodb.integration", matches = "true")
+@DisplayName("ExchangeService Batch Benchmark")
+class ExchangeBatchBenchmarkTest {
+
+    private static final int CENTERS = 20;
+    private static final int EXCHANGES = 500;
+
+    @Autowired
+    private ExchangeService exchangeService;
+
+    @Autowired
+    private CommunityCenterRepository communityCenterRepository;
+
+    @Autowired
+    private ExchangeHistoryRepository exchangeHistoryRepository;
+
+    private final List<UUID> centerIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < CENTERS; i++) {
+            Map<ResourceTypeEnum, Integer> resources = new EnumMap<>(ResourceTypeEnum.class);
+            resources.put(ResourceTypeEnum.VOLUNTARIO, 100_000);
+            resources.put(ResourceTypeEnum.CESTA_BASICA, 100_000);
+
+            CommunityCenter center = communityCenterRepository.save(CommunityCenter.builder()
+                    .id(UUID.randomUUID())
+                    .name("Centro Benchmark " + i)
+                    .maxCapacity(100)
+                    .currentOccupancy(10)
+                    .resourceMap(resources)
+                    .build());
+            centerIds.add(center.getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        centerIds.forEach(id -> exchangeHistoryRepository.deleteAll(
+                exchangeHistoryRepository.findBySourceCenterIdOrTargetCenterId(id.toString(), id.toString())));
+        communityCenterRepository.deleteAllById(centerIds);
+    }
+
+    @Test
+    @DisplayName("Lote deve ter vazão maior que trocas individuais em sequência")
+    void batchShouldOutperformSingleExchangeLoop() {
+        List<ExchangeRequest> requests = exchangeRequests();
+
+        long loopStart = System.nanoTime();
+        requests.forEach(exchangeService::exchangeResources);
+        long loopNanos = System.nanoTime() - loopStart;
+
+        long batchStart = System.nanoTime();
+        exchangeService.exchangeResourcesInBatch(requests);
+        long batchNanos = System.nanoTime() - batchStart;
+
+        System.out.printf("Trocas individuais: %.0f trocas/s | Lote: %.0f trocas/s%n",
+                EXCHANGES / (loopNanos / 1e9), EXCHANGES / (batchNanos / 1e9));
+
+        assertTrue(batchNanos < loopNanos);
+    }
+
+    private List<ExchangeRequest> exchangeRequests() {
+        List<ExchangeRequest> requests = new ArrayList<>(EXCHANGES);
+        for (int i = 0; i < EXCHANGES; i++) {
+            ExchangeRequest request = new ExchangeRequest();
+            request.setSourceCenterId(centerIds.get(i % CENTERS).toString());
+            request.setTargetCenterId(centerIds.get((i + 1) % CENTERS).toString());
+            request.setResourcesGiven(Map.of(ResourceTypeEnum.VOLUNTARIO, 2));
+            request.setResourcesRequested(Map.of(ResourceTypeEnum.CESTA_BASICA, 3));
+            requests.add(request);
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,142 @@
+package br.com.antoniolps.CommunityCenterAPI.services;
+
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceVector;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeSuggestion;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.MatchRequest;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import br.com.antoniolps.CommunityCenterAPI.service.ExchangeMatchServiceImpl;
+import br.com.antoniolps.CommunityCenterAPI.stream.ResourceHoldingIndex;
+import br.com.antoniolps.CommunityCenterAPI.stream.ResourcesChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ExchangeMatchServiceImpl Tests")
+class ExchangeMatchServiceImplTest {
+
+    private ResourceHoldingIndex holdingIndex;
+    private ExchangeMatchServiceImpl exchangeMatchService;
+    private UUID requesterId;
+    private UUID nearCenterId;
+    private UUID farCenterId;
+
+    @BeforeEach
+    void setUp() {
+        requesterId = UUID.randomUUID();
+        nearCenterId = UUID.randomUUID();
+        farCenterId = UUID.randomUUID();
+
+        List<CommunityCenter> centers = List.of(
+                center(requesterId, "Centro Solicitante", -46.63, -23.55,
+                        Map.of(ResourceTypeEnum.VOLUNTARIO, 10, ResourceTypeEnum.CESTA_BASICA, 20)),
+                center(nearCenterId, "Centro Próximo", -46.64, -23.56, Map.of(ResourceTypeEnum.MEDICO, 5)),
+                center(farCenterId, "Centro Distante", -43.17, -22.90, Map.of(ResourceTypeEnum.MEDICO, 10)),
+                center(UUID.randomUUID(), "Centro Sem Estoque", -46.62, -23.54, Map.of(ResourceTypeEnum.MEDICO, 2)));
+
+        holdingIndex = new ResourceHoldingIndex(() -> centers,
+                ids -> centers.stream().filter(center -> ids.contains(center.getId())).toList(), true);
+        holdingIndex.load();
+        exchangeMatchService = new ExchangeMatchServiceImpl(holdingIndex);
+    }
+
+    @Test
+    @DisplayName("Deve sugerir trocas equilibradas com a menor oferta, do centro com mais estoque ao com menos")
+    void shouldSuggestBalancedExchangesByAbundance() {
+        List<ExchangeSuggestion> suggestions = exchangeMatchService.findMatches(request(false));
+
+        assertEquals(List.of(farCenterId.toString(), nearCenterId.toString()),
+                suggestions.stream().map(ExchangeSuggestion::getTargetCenterId).toList());
+        ExchangeSuggestion first = suggestions.get(0);
+        assertEquals(12, first.getPoints());
+        assertEquals(Map.of(ResourceTypeEnum.VOLUNTARIO, 4), first.getResourcesGiven());
+        assertEquals(Map.of(ResourceTypeEnum.MEDICO, 3), first.getResourcesRequested());
+    }
+
+    @Test
+    @DisplayName("Deve ordenar as sugestões pela distância quando solicitado")
+    void shouldRankSuggestionsByDistance() {
+        List<ExchangeSuggestion> suggestions = exchangeMatchService.findMatches(request(true));
+
+        assertEquals(nearCenterId.toString(), suggestions.get(0).getTargetCenterId());
+        assertTrue(suggestions.get(0).getDistanceInMeters() < suggestions.get(1).getDistanceInMeters());
+    }
+
+    @Test
+    @DisplayName("Deve retornar lista vazia quando o excedente não fecha os pontos exatos")
+    void shouldReturnEmptyWhenSurplusCannotBalancePoints() {
+        MatchRequest request = request(false);
+        request.setNeeds(Map.of(ResourceTypeEnum.MEDICO, 1));
+        request.setSurplus(Map.of(ResourceTypeEnum.VOLUNTARIO, 10));
+
+        assertTrue(exchangeMatchService.findMatches(request).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o excedente for maior que o estoque do centro")
+    void shouldThrowExceptionWhenSurplusExceedsStock() {
+        MatchRequest request = request(false);
+        request.setSurplus(Map.of(ResourceTypeEnum.VOLUNTARIO, 11));
+
+        assertThrows(IllegalArgumentException.class, () -> exchangeMatchService.findMatches(request));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar quantidades cujo total de pontos estouraria o int")
+    void shouldRejectNeedsThatOverflowPoints() {
+        MatchRequest request = request(false);
+        request.setNeeds(Map.of(ResourceTypeEnum.MEDICO, Integer.MAX_VALUE));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> exchangeMatchService.findMatches(request));
+
+        assertEquals("Necessidades inválidas: o total deve ser de no máximo 5000 pontos.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o centro não for informado")
+    void shouldThrowExceptionWhenCenterIdIsMissing() {
+        MatchRequest request = request(false);
+        request.setCenterId(null);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> exchangeMatchService.findMatches(request));
+
+        assertEquals("Centro comunitário inválido: informe um identificador válido.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve deixar de sugerir o centro após uma troca consumir seu estoque")
+    void shouldDropCandidateAfterResourcesChanged() {
+        holdingIndex.onResourcesChanged(new ResourcesChangedEvent(Map.of(farCenterId, ResourceVector.of(ResourceTypeEnum.MEDICO, -8))));
+
+        assertEquals(List.of(nearCenterId.toString()), exchangeMatchService.findMatches(request(false)).stream()
+                .map(ExchangeSuggestion::getTargetCenterId)
+                .toList());
+    }
+
+    private MatchRequest request(boolean nearestFirst) {
+        MatchRequest request = new MatchRequest();
+        request.setCenterId(requesterId.toString());
+        request.setNeeds(Map.of(ResourceTypeEnum.MEDICO, 3));
+        request.setNearestFirst(nearestFirst);
+        return request;
+    }
+
+    private CommunityCenter center(UUID id, String name, double longitude, double latitude,
+                                   Map<ResourceTypeEnum, Integer> resources) {
+        return CommunityCenter.builder()
+                .id(id)
+                .name(name)
+                .location(new GeoJsonPoint(longitude, latitude))
+                .resourceMap(resources)
+                .build();
+    }
+}
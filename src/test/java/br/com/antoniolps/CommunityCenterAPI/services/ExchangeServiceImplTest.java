@@ -3,26 +3,41 @@ package br.com.antoniolps.CommunityCenterAPI.services;
 import br.com.antoniolps.CommunityCenterAPI.model.Address;
 import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
 import br.com.antoniolps.CommunityCenterAPI.model.ExchangeHistory;
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceVector;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangePage;
 import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeRequest;
 import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeReturn;
 import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import br.com.antoniolps.CommunityCenterAPI.model.projections.PendingExchangeBatch;
 import br.com.antoniolps.CommunityCenterAPI.repository.CommunityCenterRepository;
 import br.com.antoniolps.CommunityCenterAPI.repository.ExchangeHistoryRepository;
+import br.com.antoniolps.CommunityCenterAPI.service.CenterLockManager;
 import br.com.antoniolps.CommunityCenterAPI.service.ExchangeServiceImpl;
+import br.com.antoniolps.CommunityCenterAPI.service.ResourceSummaryService;
+import br.com.antoniolps.CommunityCenterAPI.service.ServiceMetrics;
+import br.com.antoniolps.CommunityCenterAPI.service.ExchangeTransactionRunner;
+import br.com.antoniolps.CommunityCenterAPI.stream.ResourcesChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -36,7 +51,15 @@ class ExchangeServiceImplTest {
     @Mock
     private ExchangeHistoryRepository exchangeHistoryRepository;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ResourceSummaryService resourceSummaryService;
+
+    @Mock
+    private ServiceMetrics serviceMetrics;
+
     private ExchangeServiceImpl exchangeService;
 
     private CommunityCenter sourceCenter;
@@ -47,6 +70,11 @@ class ExchangeServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        // Sem transação e com travas reais: só os repositórios e os colaboradores externos são mocks
+        exchangeService = new ExchangeServiceImpl(communityCenterRepository, exchangeHistoryRepository,
+                new ExchangeTransactionRunner(null, new SimpleMeterRegistry(), 3), eventPublisher,
+                resourceSummaryService, serviceMetrics, new CenterLockManager(16, new SimpleMeterRegistry()));
+
         sourceCenterId = UUID.randomUUID();
         targetCenterId = UUID.randomUUID();
 
@@ -121,20 +149,31 @@ class ExchangeServiceImplTest {
     void shouldExchangeResourcesSuccessfullyWhenPointsAreBalanced() {
         when(communityCenterRepository.findById(sourceCenterId)).thenReturn(Optional.of(sourceCenter));
         when(communityCenterRepository.findById(targetCenterId)).thenReturn(Optional.of(targetCenter));
-        when(exchangeHistoryRepository.save(any(ExchangeHistory.class))).thenReturn(any());
+        when(communityCenterRepository.applyResourceDelta(eq(sourceCenterId), any(ResourceVector.class)))
+                .thenReturn(Optional.of(Map.of(ResourceTypeEnum.VOLUNTARIO, 7)));
+        when(communityCenterRepository.applyResourceDelta(eq(targetCenterId), any(ResourceVector.class)))
+                .thenReturn(Optional.of(Map.of(ResourceTypeEnum.CESTA_BASICA, 9)));
+        when(exchangeHistoryRepository.save(any(ExchangeHistory.class))).thenAnswer(returnsFirstArg());
 
         assertDoesNotThrow(() -> exchangeService.exchangeResources(validExchangeRequest));
 
         verify(communityCenterRepository, times(1)).findById(sourceCenterId);
         verify(communityCenterRepository, times(1)).findById(targetCenterId);
-        verify(communityCenterRepository, times(2)).save(any(CommunityCenter.class));
+        verify(communityCenterRepository, never()).save(any(CommunityCenter.class));
         verify(exchangeHistoryRepository, times(1)).save(any(ExchangeHistory.class));
 
-        assertEquals(13, sourceCenter.getResourceMap().get(ResourceTypeEnum.VOLUNTARIO));
-        assertEquals(23, sourceCenter.getResourceMap().get(ResourceTypeEnum.CESTA_BASICA));
-
-        assertEquals(12, targetCenter.getResourceMap().get(ResourceTypeEnum.CESTA_BASICA));
-        assertEquals(12, targetCenter.getResourceMap().get(ResourceTypeEnum.VOLUNTARIO));
+        verify(communityCenterRepository).applyResourceDelta(sourceCenterId, ResourceVector.of(Map.of(
+                ResourceTypeEnum.VOLUNTARIO, -2,
+                ResourceTypeEnum.CESTA_BASICA, 3
+        )));
+        verify(communityCenterRepository).applyResourceDelta(targetCenterId, ResourceVector.of(Map.of(
+                ResourceTypeEnum.CESTA_BASICA, -3,
+                ResourceTypeEnum.VOLUNTARIO, 2
+        )));
+        // O resumo usa os estoques devolvidos pela escrita, não os lidos antes dela
+        verify(resourceSummaryService).recordExchange(eq(Map.of(
+                sourceCenterId, Map.of(ResourceTypeEnum.VOLUNTARIO, 7),
+                targetCenterId, Map.of(ResourceTypeEnum.CESTA_BASICA, 9))), anyMap());
     }
 
     @Test
@@ -148,7 +187,7 @@ class ExchangeServiceImplTest {
         );
 
         assertEquals("Centro de origem não encontrado.", exception.getMessage());
-        verify(communityCenterRepository, never()).save(any(CommunityCenter.class));
+        verify(communityCenterRepository, never()).applyResourceDelta(any(UUID.class), any(ResourceVector.class));
         verify(exchangeHistoryRepository, never()).save(any(ExchangeHistory.class));
     }
 
@@ -164,7 +203,7 @@ class ExchangeServiceImplTest {
         );
 
         assertEquals("Centro de destino não encontrado.", exception.getMessage());
-        verify(communityCenterRepository, never()).save(any(CommunityCenter.class));
+        verify(communityCenterRepository, never()).applyResourceDelta(any(UUID.class), any(ResourceVector.class));
         verify(exchangeHistoryRepository, never()).save(any(ExchangeHistory.class));
     }
 
@@ -185,7 +224,8 @@ class ExchangeServiceImplTest {
         );
 
         assertEquals("A troca deve ser equilibrada em pontos.", exception.getMessage());
-        verify(communityCenterRepository, never()).save(any(CommunityCenter.class));
+        verify(serviceMetrics).exchangeRejected("single", "unbalanced_points");
+        verify(communityCenterRepository, never()).applyResourceDelta(any(UUID.class), any(ResourceVector.class));
         verify(exchangeHistoryRepository, never()).save(any(ExchangeHistory.class));
     }
 
@@ -201,11 +241,12 @@ class ExchangeServiceImplTest {
 
         when(communityCenterRepository.findById(sourceCenterId)).thenReturn(Optional.of(sourceCenter));
         when(communityCenterRepository.findById(targetCenterId)).thenReturn(Optional.of(targetCenter));
-        when(exchangeHistoryRepository.save(any(ExchangeHistory.class))).thenReturn(any());
+        when(communityCenterRepository.applyResourceDelta(any(UUID.class), any(ResourceVector.class))).thenReturn(Optional.of(Map.of()));
+        when(exchangeHistoryRepository.save(any(ExchangeHistory.class))).thenAnswer(returnsFirstArg());
 
         assertDoesNotThrow(() -> exchangeService.exchangeResources(validExchangeRequest));
 
-        verify(communityCenterRepository, times(2)).save(any(CommunityCenter.class));
+        verify(communityCenterRepository, times(2)).applyResourceDelta(any(UUID.class), any(ResourceVector.class));
         verify(exchangeHistoryRepository, times(1)).save(any(ExchangeHistory.class));
     }
 
@@ -230,11 +271,12 @@ class ExchangeServiceImplTest {
 
         when(communityCenterRepository.findById(sourceCenterId)).thenReturn(Optional.of(sourceCenter));
         when(communityCenterRepository.findById(targetCenterId)).thenReturn(Optional.of(targetCenter));
-        when(exchangeHistoryRepository.save(any(ExchangeHistory.class))).thenReturn(any());
+        when(communityCenterRepository.applyResourceDelta(any(UUID.class), any(ResourceVector.class))).thenReturn(Optional.of(Map.of()));
+        when(exchangeHistoryRepository.save(any(ExchangeHistory.class))).thenAnswer(returnsFirstArg());
 
         assertDoesNotThrow(() -> exchangeService.exchangeResources(validExchangeRequest));
 
-        verify(communityCenterRepository, times(2)).save(any(CommunityCenter.class));
+        verify(communityCenterRepository, times(2)).applyResourceDelta(any(UUID.class), any(ResourceVector.class));
     }
 
     @Test
@@ -242,9 +284,10 @@ class ExchangeServiceImplTest {
     void shouldCorrectlyRegisterInExchangeHistory() {
         when(communityCenterRepository.findById(sourceCenterId)).thenReturn(Optional.of(sourceCenter));
         when(communityCenterRepository.findById(targetCenterId)).thenReturn(Optional.of(targetCenter));
+        when(communityCenterRepository.applyResourceDelta(any(UUID.class), any(ResourceVector.class))).thenReturn(Optional.of(Map.of()));
 
         ArgumentCaptor<ExchangeHistory> historyCaptor = ArgumentCaptor.forClass(ExchangeHistory.class);
-        when(exchangeHistoryRepository.save(historyCaptor.capture())).thenReturn(any());
+        when(exchangeHistoryRepository.save(historyCaptor.capture())).thenAnswer(returnsFirstArg());
 
         exchangeService.exchangeResources(validExchangeRequest);
 
@@ -253,8 +296,8 @@ class ExchangeServiceImplTest {
         assertNotNull(savedHistory.getId());
         assertEquals(sourceCenterId.toString(), savedHistory.getSourceCenterId());
         assertEquals(targetCenterId.toString(), savedHistory.getTargetCenterId());
-        assertEquals(validExchangeRequest.getResourcesGiven(), savedHistory.getResourcesGiven());
-        assertEquals(validExchangeRequest.getResourcesRequested(), savedHistory.getResourcesReceived());
+        assertEquals(ResourceVector.of(validExchangeRequest.getResourcesGiven()), savedHistory.getResourcesGiven());
+        assertEquals(ResourceVector.of(validExchangeRequest.getResourcesRequested()), savedHistory.getResourcesReceived());
         assertNotNull(savedHistory.getTimestamp());
         assertTrue(savedHistory.getTimestamp().isBefore(LocalDateTime.now().plusSeconds(1)));
         assertTrue(savedHistory.getTimestamp().isAfter(LocalDateTime.now().minusSeconds(10)));
@@ -272,9 +315,8 @@ class ExchangeServiceImplTest {
 
         List<ExchangeHistory> mockHistories = Arrays.asList(history1, history2);
 
-        when(exchangeHistoryRepository.findBySourceCenterIdOrTargetCenterIdAndTimestampAfter(
-                eq(centerId), eq(centerId), eq(fromDate)
-        )).thenReturn(mockHistories);
+        when(exchangeHistoryRepository.findByCenterIdAndTimestampAfter(eq(centerId), eq(fromDate)))
+                .thenReturn(mockHistories);
 
         List<ExchangeReturn> result = exchangeService.getAllExchangesByCenterAfterDate(centerId, dateString);
 
@@ -287,78 +329,215 @@ class ExchangeServiceImplTest {
         assertEquals(history1.getResourcesReceived(), firstExchange.getResourcesReceived());
 
         verify(exchangeHistoryRepository, times(1))
-                .findBySourceCenterIdOrTargetCenterIdAndTimestampAfter(centerId, centerId, fromDate);
+                .findByCenterIdAndTimestampAfter(centerId, fromDate);
     }
 
     @Test
-    @DisplayName("Deve buscar todas as trocas de um centro específico")
-    void shouldGetAllExchangesBySpecificCenter() {
-        String centerId = sourceCenterId.toString();
+    @DisplayName("Deve apenas registrar o histórico quando recursos de mesmo tipo dados e recebidos se anulam")
+    void shouldOnlyRecordHistoryWhenSameTypeResourcesCancelOut() {
+        validExchangeRequest.setResourcesGiven(Map.of(ResourceTypeEnum.CESTA_BASICA, 5));
+        validExchangeRequest.setResourcesRequested(Map.of(ResourceTypeEnum.CESTA_BASICA, 5));
 
-        ExchangeHistory history1 = createExchangeHistory(centerId, targetCenterId.toString());
-        ExchangeHistory history2 = createExchangeHistory(targetCenterId.toString(), centerId);
-        ExchangeHistory history3 = createExchangeHistory(centerId, UUID.randomUUID().toString());
+        when(communityCenterRepository.findById(sourceCenterId)).thenReturn(Optional.of(sourceCenter));
+        when(communityCenterRepository.findById(targetCenterId)).thenReturn(Optional.of(targetCenter));
+        when(exchangeHistoryRepository.save(any(ExchangeHistory.class))).thenAnswer(returnsFirstArg());
 
-        List<ExchangeHistory> mockHistories = Arrays.asList(history1, history2, history3);
+        exchangeService.exchangeResources(validExchangeRequest);
 
-        when(exchangeHistoryRepository.findBySourceCenterIdOrTargetCenterId(eq(centerId), eq(centerId)))
-                .thenReturn(mockHistories);
+        verify(communityCenterRepository, never()).applyResourceDelta(any(UUID.class), any(ResourceVector.class));
+        verify(exchangeHistoryRepository, times(1)).save(any(ExchangeHistory.class));
+    }
 
-        List<ExchangeReturn> result = exchangeService.getAllByCenterId(centerId);
+    @Test
+    @DisplayName("Deve rejeitar troca quando centro de origem não possui estoque suficiente")
+    void shouldRejectExchangeWhenSourceHasInsufficientResources() {
+        when(communityCenterRepository.findById(sourceCenterId)).thenReturn(Optional.of(sourceCenter));
+        when(communityCenterRepository.findById(targetCenterId)).thenReturn(Optional.of(targetCenter));
+        when(communityCenterRepository.applyResourceDelta(eq(sourceCenterId), any(ResourceVector.class))).thenReturn(Optional.empty());
 
-        assertEquals(3, result.size());
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> exchangeService.exchangeResources(validExchangeRequest)
+        );
 
-        result.forEach(exchange -> {
-            assertTrue(
-                    exchange.getSourceCenterId().equals(centerId) ||
-                            exchange.getTargetCenterId().equals(centerId)
-            );
-        });
+        assertEquals("Recursos insuficientes no centro de origem.", exception.getMessage());
+        verify(serviceMetrics).exchangeRejected("single", "insufficient_source");
+        verify(communityCenterRepository, never()).applyResourceDelta(eq(targetCenterId), any(ResourceVector.class));
+        verify(exchangeHistoryRepository, never()).save(any(ExchangeHistory.class));
+    }
 
-        verify(exchangeHistoryRepository, times(1))
-                .findBySourceCenterIdOrTargetCenterId(centerId, centerId);
+    @Test
+    @DisplayName("Deve desfazer alteração na origem quando destino não possui estoque suficiente")
+    void shouldRevertSourceWhenTargetHasInsufficientResources() {
+        when(communityCenterRepository.findById(sourceCenterId)).thenReturn(Optional.of(sourceCenter));
+        when(communityCenterRepository.findById(targetCenterId)).thenReturn(Optional.of(targetCenter));
+        when(communityCenterRepository.applyResourceDelta(eq(sourceCenterId), any(ResourceVector.class))).thenReturn(Optional.of(Map.of()));
+        when(communityCenterRepository.applyResourceDelta(eq(targetCenterId), any(ResourceVector.class))).thenReturn(Optional.empty());
+
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> exchangeService.exchangeResources(validExchangeRequest)
+        );
+
+        assertEquals("Recursos insuficientes no centro de destino.", exception.getMessage());
+        verify(communityCenterRepository).revertResourceDelta(sourceCenterId, ResourceVector.of(Map.of(
+                ResourceTypeEnum.VOLUNTARIO, -2,
+                ResourceTypeEnum.CESTA_BASICA, 3
+        )));
+        verify(exchangeHistoryRepository, never()).save(any(ExchangeHistory.class));
     }
 
     @Test
-    @DisplayName("Deve retornar lista vazia quando não há trocas para o centro")
-    void shouldReturnEmptyListWhenNoCenterExchanges() {
-        String centerId = sourceCenterId.toString();
-        when(exchangeHistoryRepository.findBySourceCenterIdOrTargetCenterId(eq(centerId), eq(centerId)))
-                .thenReturn(Collections.emptyList());
+    @DisplayName("Deve consolidar o lote de trocas em um único bulkWrite e um único insertMany")
+    void shouldNetBatchExchangesIntoSingleBulkWrite() {
+        when(communityCenterRepository.findAllById(any())).thenReturn(List.of(sourceCenter, targetCenter));
+        when(communityCenterRepository.applyResourceDeltas(anyMap(), any(UUID.class), anyInt())).thenReturn(true);
+        Map<UUID, Map<ResourceTypeEnum, Integer>> previousResources = Map.of(
+                sourceCenterId, Map.of(ResourceTypeEnum.VOLUNTARIO, 9, ResourceTypeEnum.CESTA_BASICA, 1),
+                targetCenterId, Map.of(ResourceTypeEnum.CESTA_BASICA, 12));
+        when(communityCenterRepository.completeExchangeBatch(anyCollection(), any(UUID.class))).thenReturn(previousResources);
+
+        exchangeService.exchangeResourcesInBatch(List.of(validExchangeRequest, validExchangeRequest));
+
+        verify(communityCenterRepository, times(1)).findAllById(any());
+        verify(communityCenterRepository, never()).findById(any());
+        verify(communityCenterRepository, never()).applyResourceDelta(any(UUID.class), any(ResourceVector.class));
+        verify(communityCenterRepository, times(1)).applyResourceDeltas(eq(Map.of(
+                sourceCenterId, ResourceVector.of(Map.of(ResourceTypeEnum.VOLUNTARIO, -4, ResourceTypeEnum.CESTA_BASICA, 6)),
+                targetCenterId, ResourceVector.of(Map.of(ResourceTypeEnum.CESTA_BASICA, -6, ResourceTypeEnum.VOLUNTARIO, 4))
+        )), any(UUID.class), eq(2));
+        verify(exchangeHistoryRepository, times(1)).insert(argThat((List<ExchangeHistory> histories) -> histories.size() == 2
+                && histories.stream().allMatch(history -> history.getBatchId() != null)));
+        verify(communityCenterRepository, times(1)).completeExchangeBatch(eq(Set.of(sourceCenterId, targetCenterId)), any(UUID.class));
+        verify(resourceSummaryService).recordExchange(eq(previousResources), anyMap());
+        verify(exchangeHistoryRepository, never()).save(any(ExchangeHistory.class));
+        verify(eventPublisher).publishEvent(new ResourcesChangedEvent(Map.of(
+                sourceCenterId, ResourceVector.of(Map.of(ResourceTypeEnum.VOLUNTARIO, -4, ResourceTypeEnum.CESTA_BASICA, 6)),
+                targetCenterId, ResourceVector.of(Map.of(ResourceTypeEnum.CESTA_BASICA, -6, ResourceTypeEnum.VOLUNTARIO, 4))
+        )));
+        verify(serviceMetrics).exchangeSucceeded("batch", 2);
+    }
 
-        List<ExchangeReturn> result = exchangeService.getAllByCenterId(centerId);
+    @Test
+    @DisplayName("Deve rejeitar o lote inteiro quando algum centro não possui estoque suficiente")
+    void shouldRejectBatchWhenAnyCenterHasInsufficientResources() {
+        when(communityCenterRepository.findAllById(any())).thenReturn(List.of(sourceCenter, targetCenter));
+        when(communityCenterRepository.applyResourceDeltas(anyMap(), any(UUID.class), anyInt())).thenReturn(false);
 
-        assertTrue(result.isEmpty());
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> exchangeService.exchangeResourcesInBatch(List.of(validExchangeRequest))
+        );
+
+        assertEquals("Recursos insuficientes para aplicar o lote de trocas.", exception.getMessage());
+        verify(exchangeHistoryRepository, never()).insert(anyList());
+        verify(communityCenterRepository, never()).completeExchangeBatch(any(), any());
     }
 
     @Test
-    @DisplayName("Deve atualizar recursos corretamente quando centro não possui o tipo de recurso")
-    void shouldUpdateResourcesCorrectlyWhenCenterDoesNotHaveResourceType() {
-        sourceCenter.getResourceMap().remove(ResourceTypeEnum.CESTA_BASICA);
+    @DisplayName("Deve concluir o lote interrompido cujo histórico foi gravado por inteiro")
+    void shouldCompleteStaleBatchWithFullHistory() {
+        UUID batchId = UUID.randomUUID();
+        when(communityCenterRepository.findStaleExchangeBatches(any())).thenReturn(List.of(
+                new PendingExchangeBatch(sourceCenterId, batchId, ResourceVector.of(ResourceTypeEnum.VOLUNTARIO, -2), 2),
+                new PendingExchangeBatch(targetCenterId, batchId, ResourceVector.of(ResourceTypeEnum.VOLUNTARIO, 2), 2)));
+        when(exchangeHistoryRepository.countByBatchId(batchId)).thenReturn(2L);
+
+        assertEquals(0, exchangeService.revertStaleBatches());
+
+        verify(communityCenterRepository).completeExchangeBatch(List.of(sourceCenterId, targetCenterId), batchId);
+        verify(communityCenterRepository, never()).revertExchangeBatch(any(), any(), any());
+        verify(exchangeHistoryRepository, never()).deleteByBatchId(any());
+    }
 
-        when(communityCenterRepository.findById(sourceCenterId)).thenReturn(Optional.of(sourceCenter));
-        when(communityCenterRepository.findById(targetCenterId)).thenReturn(Optional.of(targetCenter));
-        when(exchangeHistoryRepository.save(any(ExchangeHistory.class))).thenReturn(any());
+    @Test
+    @DisplayName("Deve desfazer o lote interrompido antes de o histórico ser gravado por inteiro")
+    void shouldRevertStaleBatchWithMissingHistory() {
+        UUID batchId = UUID.randomUUID();
+        ResourceVector sourceDelta = ResourceVector.of(ResourceTypeEnum.VOLUNTARIO, -2);
+        ResourceVector targetDelta = ResourceVector.of(ResourceTypeEnum.VOLUNTARIO, 2);
+        when(communityCenterRepository.findStaleExchangeBatches(any())).thenReturn(List.of(
+                new PendingExchangeBatch(sourceCenterId, batchId, sourceDelta, 2),
+                new PendingExchangeBatch(targetCenterId, batchId, targetDelta, 2)));
+        when(exchangeHistoryRepository.countByBatchId(batchId)).thenReturn(1L);
+        when(communityCenterRepository.revertExchangeBatch(any(UUID.class), eq(batchId), any(ResourceVector.class))).thenReturn(true);
+
+        assertEquals(2, exchangeService.revertStaleBatches());
+
+        InOrder inOrder = inOrder(exchangeHistoryRepository, communityCenterRepository);
+        inOrder.verify(exchangeHistoryRepository).deleteByBatchId(batchId);
+        inOrder.verify(communityCenterRepository).revertExchangeBatch(sourceCenterId, batchId, sourceDelta);
+        inOrder.verify(communityCenterRepository).revertExchangeBatch(targetCenterId, batchId, targetDelta);
+        verify(communityCenterRepository, never()).completeExchangeBatch(any(), any());
+    }
 
-        exchangeService.exchangeResources(validExchangeRequest);
+    @Test
+    @DisplayName("Deve validar todas as trocas do lote antes de escrever")
+    void shouldValidateWholeBatchBeforeWriting() {
+        ExchangeRequest missingTarget = new ExchangeRequest();
+        missingTarget.setSourceCenterId(sourceCenterId.toString());
+        missingTarget.setTargetCenterId(UUID.randomUUID().toString());
+        missingTarget.setResourcesGiven(createResourcesGiven());
+        missingTarget.setResourcesRequested(createResourcesRequested());
 
-        assertEquals(3, sourceCenter.getResourceMap().get(ResourceTypeEnum.CESTA_BASICA));
-        verify(communityCenterRepository, times(2)).save(any(CommunityCenter.class));
+        when(communityCenterRepository.findAllById(any())).thenReturn(List.of(sourceCenter, targetCenter));
+
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> exchangeService.exchangeResourcesInBatch(List.of(validExchangeRequest, missingTarget))
+        );
+
+        assertEquals("Centro de destino não encontrado.", exception.getMessage());
+        verify(communityCenterRepository, never()).applyResourceDeltas(anyMap(), any(UUID.class), anyInt());
+        verify(exchangeHistoryRepository, never()).insert(anyList());
     }
 
     @Test
-    @DisplayName("Deve validar que recursos não podem ficar negativos após troca")
-    void shouldValidateThatResourcesCannotBeNegativeAfterExchange() {
-        sourceCenter.getResourceMap().put(ResourceTypeEnum.VOLUNTARIO, 1);
+    @DisplayName("Deve retornar página com cursor para a próxima página")
+    void shouldReturnPageWithNextCursor() {
+        String centerId = sourceCenterId.toString();
+        ExchangeHistory history1 = createExchangeHistory(centerId, targetCenterId.toString());
+        ExchangeHistory history2 = createExchangeHistory(targetCenterId.toString(), centerId);
+        ExchangeHistory history3 = createExchangeHistory(centerId, targetCenterId.toString());
 
-        when(communityCenterRepository.findById(sourceCenterId)).thenReturn(Optional.of(sourceCenter));
-        when(communityCenterRepository.findById(targetCenterId)).thenReturn(Optional.of(targetCenter));
-        when(exchangeHistoryRepository.save(any(ExchangeHistory.class))).thenReturn(any());
+        when(exchangeHistoryRepository.findPageByCenterId(centerId, null, null, 3))
+                .thenReturn(List.of(history1, history2, history3));
 
-        exchangeService.exchangeResources(validExchangeRequest);
+        ExchangePage page = exchangeService.getPageByCenterId(centerId, null, 2);
+
+        assertEquals(2, page.getContent().size());
+        assertNotNull(page.getNext());
+
+        when(exchangeHistoryRepository.findPageByCenterId(centerId, history2.getTimestamp(), history2.getId(), 3))
+                .thenReturn(List.of(history3));
+
+        ExchangePage nextPage = exchangeService.getPageByCenterId(centerId, page.getNext(), 2);
+
+        assertEquals(1, nextPage.getContent().size());
+        assertNull(nextPage.getNext());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando cursor for inválido")
+    void shouldThrowExceptionWhenCursorIsInvalid() {
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> exchangeService.getPageByCenterId(sourceCenterId.toString(), "cursor-invalido", 10)
+        );
+
+        assertEquals("Cursor inválido.", exception.getMessage());
+        verify(exchangeHistoryRepository, never()).findPageByCenterId(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando tamanho de página for inválido")
+    void shouldThrowExceptionWhenPageSizeIsInvalid() {
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> exchangeService.getPageByCenterId(sourceCenterId.toString(), null, 0)
+        );
 
-        assertEquals(-1, sourceCenter.getResourceMap().get(ResourceTypeEnum.VOLUNTARIO));
-        verify(communityCenterRepository, times(2)).save(any(CommunityCenter.class));
+        assertEquals("Tamanho de página inválido: deve ser entre 1 e 500.", exception.getMessage());
     }
 
     private ExchangeHistory createExchangeHistory(String sourceCenterId, String targetCenterId) {
@@ -366,8 +545,8 @@ class ExchangeServiceImplTest {
                 .id(UUID.randomUUID())
                 .sourceCenterId(sourceCenterId)
                 .targetCenterId(targetCenterId)
-                .resourcesGiven(Map.of(ResourceTypeEnum.VOLUNTARIO, 2))
-                .resourcesReceived(Map.of(ResourceTypeEnum.CESTA_BASICA, 3))
+                .resourcesGiven(ResourceVector.of(ResourceTypeEnum.VOLUNTARIO, 2))
+                .resourcesReceived(ResourceVector.of(ResourceTypeEnum.CESTA_BASICA, 3))
                 .timestamp(LocalDateTime.now())
                 .build();
     }
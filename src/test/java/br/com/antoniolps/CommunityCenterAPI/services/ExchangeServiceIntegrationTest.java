@@ -0,0 +1,241 @@
+package br.com.antoniolps.CommunityCenterAPI.services;
+
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceVector;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ExchangeRequest;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import br.com.antoniolps.CommunityCenterAPI.repository.CommunityCenterRepository;
+import br.com.antoniolps.CommunityCenterAPI.repository.ExchangeHistoryRepository;
+import br.com.antoniolps.CommunityCenterAPI.service.CommunityCenterService;
+import br.com.antoniolps.CommunityCenterAPI.service.ExchangeService;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Requer um MongoDB em execução: ./mvnw test -Dmongodb.integration=true
+@SpringBootTest
+@EnabledIfSystemProperty(named = "mongodb.integration", matches = "true")
+@DisplayName("ExchangeService Integration Tests")
+class ExchangeServiceIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final int EXCHANGES = 200;
+    private static final int CONTENDED_THREADS = 32;
+    private static final int CONTENDED_EXCHANGES = 600;
+    private static final int OCCUPANCY_UPDATES = 200;
+    private static final int MAX_CAPACITY = 100;
+
+    @Autowired
+    private ExchangeService exchangeService;
+
+    @Autowired
+    private CommunityCenterService communityCenterService;
+
+    @Autowired
+    private CommunityCenterRepository communityCenterRepository;
+
+    @Autowired
+    private ExchangeHistoryRepository exchangeHistoryRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private UUID sourceCenterId;
+    private UUID targetCenterId;
+
+    @BeforeEach
+    void setUp() {
+        sourceCenterId = UUID.randomUUID();
+        targetCenterId = UUID.randomUUID();
+
+        communityCenterRepository.saveAll(List.of(
+                center(sourceCenterId, ResourceTypeEnum.VOLUNTARIO, 1000),
+                center(targetCenterId, ResourceTypeEnum.CESTA_BASICA, 1500)
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        exchangeHistoryRepository.deleteAll(exchangeHistoryRepository.findBySourceCenterIdOrTargetCenterId(
+                sourceCenterId.toString(), sourceCenterId.toString()));
+        communityCenterRepository.deleteAllById(List.of(sourceCenterId, targetCenterId));
+    }
+
+    @Test
+    @DisplayName("Atualizações de ocupação concorrentes não devem desfazer trocas de recursos")
+    void shouldKeepResourcesWhenOccupancyIsUpdatedDuringExchanges() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < EXCHANGES; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                exchangeService.exchangeResources(exchangeRequest());
+                return null;
+            }));
+        }
+        for (int i = 0; i < OCCUPANCY_UPDATES; i++) {
+            UUID centerId = i % 2 == 0 ? sourceCenterId : targetCenterId;
+            int occupancy = i % (MAX_CAPACITY + 1);
+            futures.add(executor.submit(() -> {
+                start.await();
+                communityCenterService.updateOccupancy(centerId.toString(), occupancy);
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Lê direto do banco, sem passar pelo cache de findById
+        CommunityCenter source = mongoTemplate.findById(sourceCenterId, CommunityCenter.class);
+        CommunityCenter target = mongoTemplate.findById(targetCenterId, CommunityCenter.class);
+
+        assertEquals(1000 - 2 * EXCHANGES, source.getResourceMap().get(ResourceTypeEnum.VOLUNTARIO));
+        assertEquals(3 * EXCHANGES, source.getResourceMap().get(ResourceTypeEnum.CESTA_BASICA));
+        assertEquals(2 * EXCHANGES, target.getResourceMap().get(ResourceTypeEnum.VOLUNTARIO));
+        assertEquals(1500 - 3 * EXCHANGES, target.getResourceMap().get(ResourceTypeEnum.CESTA_BASICA));
+    }
+
+    @Test
+    @DisplayName("Não deve perder atualizações nem aceitar trocas além do estoque com trocas concorrentes nos mesmos centros")
+    void shouldNotLoseUpdatesUnderConcurrentExchanges() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONTENDED_THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < CONTENDED_EXCHANGES; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    exchangeService.exchangeResources(exchangeRequest());
+                    succeeded.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Origem tem 1000 voluntários e cada troca consome 2: exatamente 500 trocas cabem no estoque
+        assertEquals(500, succeeded.get());
+        assertEquals(100, rejected.get());
+
+        CommunityCenter source = mongoTemplate.findById(sourceCenterId, CommunityCenter.class);
+        CommunityCenter target = mongoTemplate.findById(targetCenterId, CommunityCenter.class);
+
+        assertEquals(0, source.getResourceMap().get(ResourceTypeEnum.VOLUNTARIO));
+        assertEquals(1500, source.getResourceMap().get(ResourceTypeEnum.CESTA_BASICA));
+        assertEquals(1000, target.getResourceMap().get(ResourceTypeEnum.VOLUNTARIO));
+        assertEquals(0, target.getResourceMap().get(ResourceTypeEnum.CESTA_BASICA));
+        assertEquals(500, exchangeHistoryRepository.findBySourceCenterIdOrTargetCenterId(
+                sourceCenterId.toString(), sourceCenterId.toString()).size());
+    }
+
+    @Test
+    @DisplayName("Deve desfazer apenas os lotes interrompidos que ficaram marcados além do prazo")
+    void shouldRevertStaleExchangeBatches() {
+        // Simula uma queda entre a aplicação dos deltas do lote e a limpeza da marcação
+        markPendingBatch(sourceCenterId, ResourceTypeEnum.VOLUNTARIO, -2, Instant.now().minus(Duration.ofHours(1)));
+        markPendingBatch(targetCenterId, ResourceTypeEnum.CESTA_BASICA, -3, Instant.now());
+
+        assertTrue(exchangeService.revertStaleBatches() >= 1);
+        exchangeService.revertStaleBatches();
+
+        Document source = mongoTemplate.findById(sourceCenterId, Document.class, mongoTemplate.getCollectionName(CommunityCenter.class));
+        Document target = mongoTemplate.findById(targetCenterId, Document.class, mongoTemplate.getCollectionName(CommunityCenter.class));
+
+        assertEquals(1000, source.get("resourceMap", Document.class).getInteger("VOLUNTARIO"));
+        assertTrue(source.getList("pendingExchangeBatches", Document.class).isEmpty());
+        // Lote recente pode estar em andamento em outra instância
+        assertEquals(1497, target.get("resourceMap", Document.class).getInteger("CESTA_BASICA"));
+        assertEquals(1, target.getList("pendingExchangeBatches", Document.class).size());
+    }
+
+    @Test
+    @DisplayName("A marcação do lote deve devolver os estoques de antes da escrita, incluindo o tipo ausente")
+    void shouldReturnResourcesBeforeBatch() {
+        UUID batchId = UUID.randomUUID();
+        Map<UUID, ResourceVector> deltas = Map.of(
+                sourceCenterId, ResourceVector.of(Map.of(ResourceTypeEnum.VOLUNTARIO, -2, ResourceTypeEnum.CESTA_BASICA, 3)),
+                targetCenterId, ResourceVector.of(Map.of(ResourceTypeEnum.VOLUNTARIO, 2, ResourceTypeEnum.CESTA_BASICA, -3)));
+
+        assertTrue(communityCenterRepository.applyResourceDeltas(deltas, batchId, 1));
+        Map<UUID, Map<ResourceTypeEnum, Integer>> previous = communityCenterRepository.completeExchangeBatch(deltas.keySet(), batchId);
+
+        assertEquals(Map.of(ResourceTypeEnum.VOLUNTARIO, 1000), previous.get(sourceCenterId));
+        assertEquals(Map.of(ResourceTypeEnum.CESTA_BASICA, 1500), previous.get(targetCenterId));
+        CommunityCenter source = mongoTemplate.findById(sourceCenterId, CommunityCenter.class);
+        assertEquals(998, source.getResourceMap().get(ResourceTypeEnum.VOLUNTARIO));
+        assertEquals(3, source.getResourceMap().get(ResourceTypeEnum.CESTA_BASICA));
+    }
+
+    private void markPendingBatch(UUID centerId, ResourceTypeEnum type, int quantity, Instant startedAt) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(centerId)),
+                new Update().inc("resourceMap." + type.name(), quantity).push("pendingExchangeBatches",
+                        new Document("batchId", UUID.randomUUID())
+                                .append("delta", new Document(type.name(), quantity))
+                                .append("startedAt", Date.from(startedAt))
+                                .append("exchanges", 1)),
+                CommunityCenter.class);
+    }
+
+    private CommunityCenter center(UUID id, ResourceTypeEnum resource, int quantity) {
+        Map<ResourceTypeEnum, Integer> resources = new EnumMap<>(ResourceTypeEnum.class);
+        resources.put(resource, quantity);
+        return CommunityCenter.builder()
+                .id(id)
+                .name("Centro " + id)
+                .maxCapacity(MAX_CAPACITY)
+                .currentOccupancy(0)
+                .resourceMap(resources)
+                .build();
+    }
+
+    private ExchangeRequest exchangeRequest() {
+        ExchangeRequest request = new ExchangeRequest();
+        request.setSourceCenterId(sourceCenterId.toString());
+        request.setTargetCenterId(targetCenterId.toString());
+        request.setResourcesGiven(Map.of(ResourceTypeEnum.VOLUNTARIO, 2));
+        request.setResourcesRequested(Map.of(ResourceTypeEnum.CESTA_BASICA, 3));
+        return request;
+    }
+}
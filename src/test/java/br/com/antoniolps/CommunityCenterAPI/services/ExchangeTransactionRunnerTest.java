@@ -0,0 +1,120 @@
+package br.com.antoniolps.CommunityCenterAPI.services;
+
+import br.com.antoniolps.CommunityCenterAPI.service.ExchangeTransactionRunner;
+import com.mongodb.MongoException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExchangeTransactionRunner Tests")
+class ExchangeTransactionRunnerTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Deve executar diretamente quando o modo transacional estiver desabilitado")
+    void shouldRunDirectlyWhenTransactionalModeIsDisabled() {
+        ExchangeTransactionRunner runner = new ExchangeTransactionRunner(null, meterRegistry, 3);
+        AtomicInteger executions = new AtomicInteger();
+
+        runner.run(executions::incrementAndGet);
+
+        assertFalse(runner.isTransactional());
+        assertEquals(1, executions.get());
+        assertEquals(1, meterRegistry.get("exchange.execution").tag("mode", "direct").timer().count());
+    }
+
+    @Test
+    @DisplayName("Deve executar a troca dentro de uma transação e confirmá-la")
+    void shouldRunInsideTransactionAndCommit() {
+        ExchangeTransactionRunner runner = new ExchangeTransactionRunner(
+                new TransactionTemplate(transactionManager), meterRegistry, 3);
+        AtomicInteger executions = new AtomicInteger();
+
+        runner.run(executions::incrementAndGet);
+
+        assertTrue(runner.isTransactional());
+        assertEquals(1, executions.get());
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager, times(1)).commit(any());
+        assertEquals(1, meterRegistry.get("exchange.execution").tag("mode", "transactional").timer().count());
+    }
+
+    @Test
+    @DisplayName("Deve repetir a transação em erros transitórios e contabilizar as tentativas")
+    void shouldRetryTransactionOnTransientError() {
+        ExchangeTransactionRunner runner = new ExchangeTransactionRunner(
+                new TransactionTemplate(transactionManager), meterRegistry, 3);
+        AtomicInteger executions = new AtomicInteger();
+
+        runner.run(() -> {
+            if (executions.incrementAndGet() < 3) {
+                throw transientError();
+            }
+        });
+
+        assertEquals(3, executions.get());
+        verify(transactionManager, times(2)).rollback(any());
+        assertEquals(2.0, meterRegistry.get("exchange.transaction.retries").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve propagar o erro transitório quando as tentativas se esgotarem")
+    void shouldPropagateTransientErrorWhenAttemptsAreExhausted() {
+        ExchangeTransactionRunner runner = new ExchangeTransactionRunner(
+                new TransactionTemplate(transactionManager), meterRegistry, 2);
+
+        assertThrows(UncategorizedMongoDbException.class, () -> runner.run(() -> {
+            throw transientError();
+        }));
+
+        verify(transactionManager, times(2)).rollback(any());
+        assertEquals(1.0, meterRegistry.get("exchange.transaction.retries").counter().count());
+    }
+
+    @Test
+    @DisplayName("Não deve repetir a transação quando a troca for rejeitada")
+    void shouldNotRetryWhenExchangeIsRejected() {
+        ExchangeTransactionRunner runner = new ExchangeTransactionRunner(
+                new TransactionTemplate(transactionManager), meterRegistry, 3);
+        AtomicInteger executions = new AtomicInteger();
+
+        assertThrows(IllegalArgumentException.class, () -> runner.run(() -> {
+            executions.incrementAndGet();
+            throw new IllegalArgumentException("Recursos insuficientes no centro de destino.");
+        }));
+
+        assertEquals(1, executions.get());
+        verify(transactionManager, times(1)).rollback(any());
+        assertEquals(0.0, meterRegistry.get("exchange.transaction.retries").counter().count());
+    }
+
+    private UncategorizedMongoDbException transientError() {
+        MongoException cause = new MongoException("WriteConflict");
+        cause.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+        return new UncategorizedMongoDbException("WriteConflict", cause);
+    }
+}
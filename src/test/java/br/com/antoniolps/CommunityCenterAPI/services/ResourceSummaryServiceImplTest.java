@@ -0,0 +1,127 @@
+package br.com.antoniolps.CommunityCenterAPI.services;
+
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceSummary;
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceVector;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.ResourceStatistics;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import br.com.antoniolps.CommunityCenterAPI.repository.CommunityCenterRepository;
+import br.com.antoniolps.CommunityCenterAPI.repository.ResourceSummaryRepository;
+import br.com.antoniolps.CommunityCenterAPI.service.ResourceSummaryServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ResourceSummaryServiceImpl Tests")
+class ResourceSummaryServiceImplTest {
+
+    @Mock
+    private ResourceSummaryRepository resourceSummaryRepository;
+
+    @Mock
+    private CommunityCenterRepository communityCenterRepository;
+
+    @InjectMocks
+    private ResourceSummaryServiceImpl resourceSummaryService;
+
+    @Test
+    @DisplayName("Deve manter total, média, mínimo e máximo ao adicionar e remover centros")
+    void shouldMaintainStatisticsOnAddAndRemove() {
+        resourceSummaryService.recordCenterAdded(Map.of(ResourceTypeEnum.VOLUNTARIO, 10, ResourceTypeEnum.MEDICO, 2));
+        resourceSummaryService.recordCenterAdded(Map.of(ResourceTypeEnum.VOLUNTARIO, 4));
+        resourceSummaryService.recordCenterAdded(Map.of(ResourceTypeEnum.VOLUNTARIO, 1));
+        resourceSummaryService.recordCenterRemoved(Map.of(ResourceTypeEnum.VOLUNTARIO, 1));
+
+        ResourceStatistics volunteers = resourceSummaryService.getStatistics().get(ResourceTypeEnum.VOLUNTARIO);
+        assertEquals(14, volunteers.getTotal());
+        assertEquals(2, volunteers.getCenters());
+        assertEquals(7.0, volunteers.getAverage(), 0.001);
+        assertEquals(4, volunteers.getMin());
+        assertEquals(10, volunteers.getMax());
+        verify(resourceSummaryRepository, times(4)).incrementSummaries(any());
+    }
+
+    @Test
+    @DisplayName("Troca deve mover o histograma sem alterar o total e contar o tipo novo no centro que recebe")
+    void exchangeShouldKeepTotalsAndCountNewHolder() {
+        UUID sourceId = UUID.randomUUID();
+        UUID targetId = UUID.randomUUID();
+        resourceSummaryService.recordCenterAdded(Map.of(ResourceTypeEnum.VOLUNTARIO, 10));
+        resourceSummaryService.recordCenterAdded(Map.of(ResourceTypeEnum.CESTA_BASICA, 6));
+
+        resourceSummaryService.recordExchange(
+                Map.of(sourceId, Map.of(ResourceTypeEnum.VOLUNTARIO, 10), targetId, Map.of(ResourceTypeEnum.CESTA_BASICA, 6)),
+                Map.of(sourceId, ResourceVector.of(Map.of(ResourceTypeEnum.VOLUNTARIO, -2, ResourceTypeEnum.CESTA_BASICA, 3)),
+                        targetId, ResourceVector.of(Map.of(ResourceTypeEnum.VOLUNTARIO, 2, ResourceTypeEnum.CESTA_BASICA, -3))));
+
+        Map<ResourceTypeEnum, ResourceStatistics> statistics = resourceSummaryService.getStatistics();
+        assertEquals(10, statistics.get(ResourceTypeEnum.VOLUNTARIO).getTotal());
+        assertEquals(2, statistics.get(ResourceTypeEnum.VOLUNTARIO).getCenters());
+        assertEquals(2, statistics.get(ResourceTypeEnum.VOLUNTARIO).getMin());
+        assertEquals(8, statistics.get(ResourceTypeEnum.VOLUNTARIO).getMax());
+        assertEquals(6, statistics.get(ResourceTypeEnum.CESTA_BASICA).getTotal());
+        assertEquals(2, statistics.get(ResourceTypeEnum.CESTA_BASICA).getCenters());
+        verify(resourceSummaryRepository).incrementSummaries(argThat((Collection<ResourceSummary> changes) ->
+                changes.stream().allMatch(change -> change.getTotal() == 0)));
+    }
+
+    @Test
+    @DisplayName("Deve corrigir o resumo quando divergir do recálculo completo")
+    void shouldRewriteSummaryWhenItDrifts() {
+        ResourceSummary stored = summary(ResourceTypeEnum.VOLUNTARIO, 12, Map.of(6, 2));
+        stored.setVersion(3);
+        ResourceSummary recomputed = summary(ResourceTypeEnum.VOLUNTARIO, 14, Map.of(6, 1, 8, 1));
+        when(resourceSummaryRepository.findAll()).thenReturn(List.of(stored));
+        when(communityCenterRepository.summarizeResources()).thenReturn(List.of(recomputed));
+        when(resourceSummaryRepository.replaceSummary(recomputed)).thenReturn(true);
+
+        assertTrue(resourceSummaryService.reconcile());
+
+        verify(resourceSummaryRepository).replaceSummary(argThat(summary -> summary.getVersion() == 3));
+        assertEquals(8, resourceSummaryService.getStatistics().get(ResourceTypeEnum.VOLUNTARIO).getMax());
+    }
+
+    @Test
+    @DisplayName("Não deve sobrescrever um $inc que chegou durante o recálculo")
+    void shouldKeepIncrementArrivedDuringReconcile() {
+        ResourceSummary stored = summary(ResourceTypeEnum.VOLUNTARIO, 12, Map.of(6, 2));
+        ResourceSummary incremented = summary(ResourceTypeEnum.VOLUNTARIO, 12, Map.of(5, 1, 7, 1));
+        ResourceSummary recomputed = summary(ResourceTypeEnum.VOLUNTARIO, 14, Map.of(6, 1, 8, 1));
+        when(resourceSummaryRepository.findAll()).thenReturn(List.of(stored), List.of(incremented));
+        when(communityCenterRepository.summarizeResources()).thenReturn(List.of(recomputed));
+        when(resourceSummaryRepository.replaceSummary(recomputed)).thenReturn(false);
+
+        assertFalse(resourceSummaryService.reconcile());
+
+        // O espelho volta a refletir o documento gravado, com o $inc
+        assertEquals(7, resourceSummaryService.getStatistics().get(ResourceTypeEnum.VOLUNTARIO).getMax());
+    }
+
+    @Test
+    @DisplayName("Não deve reescrever o resumo quando ele bate com o recálculo, ignorando entradas zeradas")
+    void shouldNotRewriteConsistentSummary() {
+        when(resourceSummaryRepository.findAll()).thenReturn(List.of(summary(ResourceTypeEnum.VOLUNTARIO, 12, Map.of(6, 2, 3, 0))));
+        when(communityCenterRepository.summarizeResources()).thenReturn(List.of(summary(ResourceTypeEnum.VOLUNTARIO, 12, Map.of(6, 2))));
+
+        assertFalse(resourceSummaryService.reconcile());
+
+        verify(resourceSummaryRepository, never()).replaceSummary(any());
+    }
+
+    private ResourceSummary summary(ResourceTypeEnum type, long total, Map<Integer, Integer> histogram) {
+        int centers = histogram.values().stream().mapToInt(Integer::intValue).sum();
+        return ResourceSummary.builder().type(type).total(total).centers(centers).histogram(histogram).build();
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.antoniolps.CommunityCenterAPI.stream;
+
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CommunityCenterStateView Tests")
+class CommunityCenterStateViewTest {
+
+    private CommunityCenterStateView view;
+    private UUID centerId;
+    private UUID otherCenterId;
+
+    @BeforeEach
+    void setUp() {
+        view = new CommunityCenterStateView();
+        centerId = UUID.randomUUID();
+        otherCenterId = UUID.randomUUID();
+
+        view.load(List.of(
+                center(centerId, 50, 100, Map.of(ResourceTypeEnum.VOLUNTARIO, 10)),
+                center(otherCenterId, 45, 50, Map.of(ResourceTypeEnum.VOLUNTARIO, 5, ResourceTypeEnum.MEDICO, 2))
+        ));
+    }
+
+    @Test
+    @DisplayName("Deve manter maior ocupação, limite de ocupação e totais de recursos após atualizações")
+    void shouldKeepAggregatesConsistentAfterUpserts() {
+        assertTrue(view.isReady());
+        assertEquals(centerId, view.highestOccupancy().orElseThrow().getId());
+        assertEquals(List.of(otherCenterId), view.withOccupancyRatioGreaterThan(0.8).stream().map(CommunityCenter::getId).toList());
+
+        view.upsert(center(centerId, 95, 100, Map.of(ResourceTypeEnum.VOLUNTARIO, 4)));
+
+        assertEquals(95, view.highestOccupancy().orElseThrow().getCurrentOccupancy());
+        assertEquals(List.of(centerId, otherCenterId),
+                view.withOccupancyRatioGreaterThan(0.8).stream().map(CommunityCenter::getId).toList());
+        assertEquals(9L, view.resourceTotals().get(ResourceTypeEnum.VOLUNTARIO));
+        assertEquals(2L, view.resourceTotals().get(ResourceTypeEnum.MEDICO));
+        assertEquals(2, view.size());
+    }
+
+    @Test
+    @DisplayName("Deve remover o centro de todas as estruturas")
+    void shouldRemoveCenterFromAllStructures() {
+        view.remove(otherCenterId);
+
+        assertEquals(1, view.size());
+        assertTrue(view.withOccupancyRatioGreaterThan(0.8).isEmpty());
+        assertEquals(10L, view.resourceTotals().get(ResourceTypeEnum.VOLUNTARIO));
+        assertEquals(0L, view.resourceTotals().get(ResourceTypeEnum.MEDICO));
+    }
+
+    private CommunityCenter center(UUID id, int currentOccupancy, int maxCapacity, Map<ResourceTypeEnum, Integer> resources) {
+        return CommunityCenter.builder()
+                .id(id)
+                .name("Centro " + id)
+                .maxCapacity(maxCapacity)
+                .currentOccupancy(currentOccupancy)
+                .resourceMap(resources)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.antoniolps.CommunityCenterAPI.stream;
+
+import br.com.antoniolps.CommunityCenterAPI.notification.OccupancyChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OccupancyBroadcaster Tests")
+class OccupancyBroadcasterTest {
+
+    private MeterRegistry meterRegistry;
+    private OccupancyBroadcaster broadcaster;
+    private UUID centerId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Executor que nunca envia: simula um cliente que não consome o stream
+        broadcaster = new OccupancyBroadcaster(1, command -> { }, meterRegistry);
+        centerId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Deve consolidar várias alterações do mesmo centro em um único envio")
+    void shouldCoalesceUpdatesPerCenter() {
+        broadcaster.subscribe(null);
+
+        broadcaster.onOccupancyChanged(event(centerId, 10));
+        broadcaster.onOccupancyChanged(event(centerId, 11));
+        broadcaster.onOccupancyChanged(event(centerId, 12));
+        broadcaster.flush();
+
+        assertEquals(1, broadcaster.subscriberCount());
+        assertEquals(0.0, meterRegistry.get("occupancy.stream.dropped.clients").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve desconectar o cliente lento quando o buffer encher")
+    void shouldDropSlowConsumerWhenBufferIsFull() {
+        broadcaster.subscribe(null);
+
+        broadcaster.onOccupancyChanged(event(centerId, 10));
+        broadcaster.flush();
+        broadcaster.onOccupancyChanged(event(centerId, 11));
+        broadcaster.flush();
+
+        assertEquals(0, broadcaster.subscriberCount());
+        assertEquals(1.0, meterRegistry.get("occupancy.stream.dropped.clients").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve entregar ao assinante apenas as alterações do centro filtrado")
+    void shouldDeliverOnlyFilteredCenter() {
+        broadcaster.subscribe(centerId);
+
+        broadcaster.onOccupancyChanged(event(centerId, 10));
+        broadcaster.onOccupancyChanged(event(UUID.randomUUID(), 20));
+        broadcaster.onOccupancyChanged(event(UUID.randomUUID(), 30));
+        broadcaster.flush();
+
+        assertEquals(1, broadcaster.subscriberCount());
+    }
+
+    private OccupancyChangedEvent event(UUID id, int currentOccupancy) {
+        return new OccupancyChangedEvent(id, "Centro " + id, currentOccupancy, 100, 0);
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.antoniolps.CommunityCenterAPI.stream;
+
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.dtos.OccupancyUpdate;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.OccupancyRankingEnum;
+import br.com.antoniolps.CommunityCenterAPI.model.projections.CenterOccupancy;
+import br.com.antoniolps.CommunityCenterAPI.notification.OccupancyChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OccupancyLeaderboard Tests")
+class OccupancyLeaderboardTest {
+
+    private OccupancyLeaderboard leaderboard;
+    private UUID largeCenterId;
+    private UUID smallCenterId;
+    private UUID emptyCenterId;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new OccupancyLeaderboard(() -> List.<CenterOccupancy>of());
+        leaderboard.load();
+
+        largeCenterId = UUID.randomUUID();
+        smallCenterId = UUID.randomUUID();
+        emptyCenterId = UUID.randomUUID();
+
+        leaderboard.update(largeCenterId, "Centro Grande", 300, 1000, 1);
+        leaderboard.update(smallCenterId, "Centro Pequeno", 45, 50, 1);
+        leaderboard.update(emptyCenterId, "Centro Vazio", 0, 80, 1);
+    }
+
+    @Test
+    @DisplayName("Deve ordenar por ocupação absoluta e por razão de ocupação")
+    void shouldRankByAbsoluteAndRatio() {
+        assertTrue(leaderboard.isReady());
+        assertEquals(List.of(largeCenterId, smallCenterId), ids(leaderboard.top(2, OccupancyRankingEnum.ABSOLUTE)));
+        assertEquals(List.of(smallCenterId, largeCenterId, emptyCenterId), ids(leaderboard.top(10, OccupancyRankingEnum.RATIO)));
+    }
+
+    @Test
+    @DisplayName("Deve reposicionar o centro a cada alteração de ocupação")
+    void shouldRepositionCenterOnOccupancyChange() {
+        leaderboard.onOccupancyChanged(new OccupancyChangedEvent(emptyCenterId, "Centro Vazio", 80, 80, 2));
+
+        assertEquals(List.of(emptyCenterId, smallCenterId), ids(leaderboard.top(2, OccupancyRankingEnum.RATIO)));
+        assertEquals(List.of(largeCenterId, emptyCenterId, smallCenterId), ids(leaderboard.top(3, OccupancyRankingEnum.ABSOLUTE)));
+    }
+
+    @Test
+    @DisplayName("Deve remover o centro excluído do ranking")
+    void shouldRemoveDeletedCenter() {
+        leaderboard.onCommunityCenterChanged(new CommunityCenterChangedEvent(largeCenterId, null));
+
+        assertEquals(List.of(smallCenterId, emptyCenterId), ids(leaderboard.top(10, OccupancyRankingEnum.ABSOLUTE)));
+    }
+
+    @Test
+    @DisplayName("Deve descartar a alteração com versão mais antiga que chega depois da mais nova")
+    void shouldIgnoreOutOfOrderOlderUpdate() {
+        leaderboard.onOccupancyChanged(new OccupancyChangedEvent(emptyCenterId, "Centro Vazio", 80, 80, 3));
+        leaderboard.onCommunityCenterChanged(new CommunityCenterChangedEvent(emptyCenterId, CommunityCenter.builder()
+                .id(emptyCenterId).name("Centro Vazio").currentOccupancy(10).maxCapacity(80).occupancyVersion(2).build()));
+
+        assertEquals(80, leaderboard.top(1, OccupancyRankingEnum.RATIO).get(0).getCurrentOccupancy());
+    }
+
+    @Test
+    @DisplayName("Não deve trazer de volta o centro removido com um evento atrasado")
+    void shouldNotRestoreDeletedCenterFromLateEvent() {
+        leaderboard.onCommunityCenterChanged(new CommunityCenterChangedEvent(largeCenterId, null));
+        leaderboard.onOccupancyChanged(new OccupancyChangedEvent(largeCenterId, "Centro Grande", 310, 1000, 2));
+
+        assertEquals(List.of(smallCenterId, emptyCenterId), ids(leaderboard.top(10, OccupancyRankingEnum.ABSOLUTE)));
+    }
+
+    @Test
+    @DisplayName("Deve manter alterações que chegam enquanto a carga inicial lê o snapshot")
+    void shouldKeepChangesReceivedDuringLoad() {
+        UUID centerId = UUID.randomUUID();
+        OccupancyLeaderboard[] loading = new OccupancyLeaderboard[1];
+        loading[0] = new OccupancyLeaderboard(() -> {
+            // O evento chega depois que o snapshot (com ocupação 10) foi lido, mas antes da troca
+            loading[0].onOccupancyChanged(new OccupancyChangedEvent(centerId, "Centro Teste", 90, 100, 1));
+            return List.of(occupancy(centerId, 10, 100));
+        });
+
+        loading[0].load();
+
+        assertEquals(90, loading[0].top(1, OccupancyRankingEnum.ABSOLUTE).get(0).getCurrentOccupancy());
+    }
+
+    private CenterOccupancy occupancy(UUID id, int currentOccupancy, int maxCapacity) {
+        return new CenterOccupancy() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return "Centro " + id;
+            }
+
+            @Override
+            public int getCurrentOccupancy() {
+                return currentOccupancy;
+            }
+
+            @Override
+            public int getMaxCapacity() {
+                return maxCapacity;
+            }
+
+            @Override
+            public long getOccupancyVersion() {
+                return 0;
+            }
+        };
+    }
+
+    private List<UUID> ids(List<OccupancyUpdate> updates) {
+        return updates.stream().map(OccupancyUpdate::getCenterId).toList();
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.antoniolps.CommunityCenterAPI.stream;
+
+import br.com.antoniolps.CommunityCenterAPI.model.CommunityCenter;
+import br.com.antoniolps.CommunityCenterAPI.model.ResourceVector;
+import br.com.antoniolps.CommunityCenterAPI.model.enums.ResourceTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ResourceHoldingIndex Tests")
+class ResourceHoldingIndexTest {
+
+    private UUID centerId;
+    private final AtomicReference<CommunityCenter> database = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        centerId = UUID.randomUUID();
+        database.set(center(10));
+    }
+
+    @Test
+    @DisplayName("Deve reler o centro alterado durante a carga, sem perder nem contar duas vezes o delta")
+    void shouldReloadCentersChangedDuringLoad() {
+        ResourceHoldingIndex[] index = new ResourceHoldingIndex[1];
+        index[0] = new ResourceHoldingIndex(() -> {
+            // O snapshot é lido antes da troca ser gravada; o evento do delta chega antes da carga terminar
+            List<CommunityCenter> snapshot = List.of(database.get());
+            database.set(center(7));
+            index[0].onResourcesChanged(new ResourcesChangedEvent(Map.of(centerId, ResourceVector.of(ResourceTypeEnum.VOLUNTARIO, -3))));
+            return snapshot;
+        }, ids -> ids.contains(centerId) ? List.of(database.get()) : List.of(), true);
+
+        index[0].load();
+
+        assertEquals(7, index[0].find(centerId).orElseThrow().quantityOf(ResourceTypeEnum.VOLUNTARIO));
+        assertEquals(List.of(centerId), index[0].holdersWithAtLeast(ResourceTypeEnum.VOLUNTARIO, 7)
+                .map(ResourceHoldingIndex.Holder::centerId).toList());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar deltas de recursos depois da carga")
+    void shouldApplyDeltasAfterLoad() {
+        ResourceHoldingIndex index = new ResourceHoldingIndex(() -> List.of(database.get()), ids -> List.of(), true);
+        index.load();
+
+        index.onResourcesChanged(new ResourcesChangedEvent(Map.of(centerId, ResourceVector.of(ResourceTypeEnum.VOLUNTARIO, 5))));
+
+        assertEquals(15, index.find(centerId).orElseThrow().quantityOf(ResourceTypeEnum.VOLUNTARIO));
+    }
+
+    private CommunityCenter center(int volunteers) {
+        Map<ResourceTypeEnum, Integer> resources = new EnumMap<>(ResourceTypeEnum.class);
+        resources.put(ResourceTypeEnum.VOLUNTARIO, volunteers);
+        return CommunityCenter.builder()
+                .id(centerId)
+                .name("Centro Teste")
+                .resourceMap(resources)
+                .build();
+    }
+}
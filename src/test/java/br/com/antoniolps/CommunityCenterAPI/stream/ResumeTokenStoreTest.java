@@ -0,0 +1,56 @@
+package br.com.antoniolps.CommunityCenterAPI.stream;
+
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ResumeTokenStore Tests")
+class ResumeTokenStoreTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private ResumeTokenStore resumeTokenStore;
+
+    @BeforeEach
+    void setUp() {
+        resumeTokenStore = new ResumeTokenStore(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Deve gravar no flush o último token retido pelo limite de gravações")
+    void shouldFlushThrottledToken() {
+        resumeTokenStore.save("communityCenter", token(1));
+        resumeTokenStore.save("communityCenter", token(2));
+        resumeTokenStore.save("communityCenter", token(3));
+
+        verify(mongoTemplate, times(1)).upsert(any(Query.class), any(Update.class), eq("change_stream_tokens"));
+
+        resumeTokenStore.flush();
+        resumeTokenStore.flush();
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).upsert(any(Query.class), updates.capture(), eq("change_stream_tokens"));
+        assertEquals(token(3).toJson(), updates.getValue().getUpdateObject().get("$set", Document.class).get("token"));
+    }
+
+    private BsonDocument token(long position) {
+        return new BsonDocument("_data", new BsonInt64(position));
+    }
+}